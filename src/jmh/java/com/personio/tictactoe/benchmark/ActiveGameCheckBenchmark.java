@@ -0,0 +1,83 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.TicTacToeApplication;
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.service.GameService;
+import com.personio.tictactoe.store.ActivePlayers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whether a long-time player is already in a game, as {@code games} fills up with finished games spread
+ * over a thousand players. {@code indexed} is the {@link ActivePlayers} lookup every game creation and
+ * join now does; {@code scan} is the count over {@code games} it replaced, kept here as the baseline,
+ * which has to visit every finished game of the player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActiveGameCheckBenchmark {
+
+    private static final int FILLER_PLAYERS = 1000;
+    private static final String SCAN = """
+            select count(*) from games
+            where (initiator_id = ? or opponent_id = ?)
+              and game_status in ('WAITING_FOR_OPPONENT', 'PLAYER_X_TURN', 'PLAYER_O_TURN')
+            """;
+
+    @Param({"10000", "1000000", "2000000"})
+    private int finishedGames;
+
+    private ConfigurableApplicationContext context;
+    private ActivePlayers activePlayers;
+    private JdbcTemplate jdbc;
+    private Long playing;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicTacToeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:active-check;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        GameService gameService = context.getBean(GameService.class);
+        activePlayers = context.getBean(ActivePlayers.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        PlayerRepository players = context.getBean(PlayerRepository.class);
+
+        playing = players.save(new Player().setName("Filler1")).getId();
+        jdbc.update("insert into players (name) select 'Filler' || x from system_range(2, ?)", FILLER_PLAYERS);
+        jdbc.update("""
+                insert into games (game_status, creation_date, initiator_id, board_size, win_length, version)
+                select 'DRAW', current_timestamp, ? + mod(x, ?), 3, 3, 9 from system_range(1, ?)
+                """, playing, FILLER_PLAYERS, finishedGames);
+
+        gameService.createGame(playing);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbc.execute("drop all objects");
+        context.close();
+    }
+
+    @Benchmark
+    public boolean indexed() {
+        return activePlayers.contains(playing);
+    }
+
+    @Benchmark
+    public boolean scan() {
+        return jdbc.queryForObject(SCAN, Long.class, playing, playing) > 0;
+    }
+}
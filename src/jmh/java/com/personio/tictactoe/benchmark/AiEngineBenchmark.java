@@ -0,0 +1,44 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.ai.TicTacToeAiEngine;
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.enums.Movement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TicTacToeAiEngine#computeBestMove} on an opening, an early middle game and a position with a
+ * forced reply. In {@code SEARCH} mode the transposition table stays warm across invocations, as it does
+ * in the running service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiEngineBenchmark {
+
+    @Param({"TABLE", "SEARCH"})
+    private TicTacToeAiEngine.Mode mode;
+
+    @Param({"_________", "X___O____", "XO_X_O___", "XOXOX____"})
+    private String position;
+
+    private TicTacToeAiEngine engine;
+    private Board board;
+    private Movement toMove;
+
+    @Setup
+    public void setUp() {
+        engine = new TicTacToeAiEngine(mode, 16384);
+        board = Board.parse(position);
+        toMove = board.toMove();
+    }
+
+    @Benchmark
+    public int computeBestMove() {
+        return engine.computeBestMove(board, toMove);
+    }
+}
@@ -0,0 +1,33 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+
+import java.util.SplittableRandom;
+
+final class BenchmarkBoards {
+
+    private BenchmarkBoards() {
+    }
+
+    /** Alternating random moves that stop before anyone wins, so the result is still a game in progress. */
+    static GameBoard midGame(Geometry geometry, int moves, SplittableRandom random) {
+        GameBoard board = GameBoard.empty(geometry);
+        int played = 0;
+        int attempts = 0;
+
+        while (played < moves && attempts++ < geometry.cells() * 20) {
+            int cell = random.nextInt(geometry.cells());
+            if (!board.isEmpty(cell)) continue;
+
+            Movement side = board.toMove();
+            GameBoard next = board.with(cell, side);
+            if (next.winner() != null) continue;
+
+            board = next;
+            played++;
+        }
+        return board;
+    }
+}
@@ -0,0 +1,42 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import com.personio.tictactoe.util.BoardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** {@link BoardEvaluator} on a half-filled board of each size, the common case while a game is running. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardEvaluatorBenchmark {
+
+    @Param({"3", "7", "15"})
+    private int boardSize;
+
+    private GameBoard board;
+
+    @Setup
+    public void setUp() {
+        Geometry geometry = Geometry.of(boardSize, null);
+        board = BenchmarkBoards.midGame(geometry, geometry.cells() / 2, new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public Optional<Movement> winner() {
+        return BoardEvaluator.winner(board);
+    }
+
+    @Benchmark
+    public boolean isDraw() {
+        return BoardEvaluator.isDraw(board);
+    }
+}
@@ -0,0 +1,47 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.ai.GridAiEngine;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-depth {@link GridAiEngine} search of a Gomoku middle game for each root-split parallelism. Every
+ * invocation gets a fresh engine, so the transposition table starts empty as it would for a new position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GridAiEngineBenchmark {
+
+    private static final GameBoard BOARD = GameBoard.empty(new Geometry(15, 5))
+            .with(112, Movement.X).with(113, Movement.O)
+            .with(97, Movement.X).with(127, Movement.O)
+            .with(98, Movement.X);
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private GridAiEngine engine;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        engine = new GridAiEngine(6, 600_000, 16, 1 << 20, parallelism);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public int computeBestMove() {
+        return engine.computeBestMove(BOARD, Movement.O);
+    }
+}
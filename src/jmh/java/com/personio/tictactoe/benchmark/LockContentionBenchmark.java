@@ -0,0 +1,119 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.TicTacToeApplication;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.exception.ConflictException;
+import com.personio.tictactoe.exception.ForbiddenException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.service.GameService;
+import com.personio.tictactoe.service.MoveService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Eight threads race to play the next move of a few hot games, comparing the move-locking strategies under
+ * contention. Every thread submits whichever move is due next, so for each turn one attempt wins and the rest
+ * are rejected as out of turn or as a lost race; the {@code accepted} and {@code rejected} counters split the
+ * score. A finished game is replaced by a fresh one between two fresh players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LockContentionBenchmark {
+
+    // X and O alternate on these cells and nobody ever completes a line
+    private static final int[] DRAW = {0, 4, 8, 1, 7, 6, 2, 5, 3};
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC", "MAILBOX"})
+    private String locking;
+
+    @Param({"1", "8"})
+    private int hotGames;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private MoveService moveService;
+    private PlayerRepository players;
+    private AtomicReferenceArray<HotGame> games;
+    private final AtomicLong names = new AtomicLong();
+
+    private record HotGame(Long id, Long x, Long o, AtomicInteger turn) {
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long accepted;
+        public long rejected;
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicTacToeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--tictactoe.locking.strategy=" + locking,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        // lost races are expected here and the driver logs each one as an error
+                        "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF");
+        gameService = context.getBean(GameService.class);
+        moveService = context.getBean(MoveService.class);
+        players = context.getBean(PlayerRepository.class);
+
+        games = new AtomicReferenceArray<>(hotGames);
+        for (int i = 0; i < hotGames; i++) games.set(i, newGame());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void nextMove(Outcomes outcomes) {
+        int slot = ThreadLocalRandom.current().nextInt(hotGames);
+        HotGame game;
+        int turn;
+        // a finished game is swapped out by the thread that played its last move
+        while ((turn = (game = games.get(slot)).turn().get()) >= DRAW.length)
+            Thread.onSpinWait();
+
+        PlayMoveRequest request = new PlayMoveRequest()
+                .setPlayerId(turn % 2 == 0 ? game.x() : game.o())
+                .setMovementIndex(DRAW[turn]);
+        try {
+            moveService.playMove(game.id(), request);
+        } catch (ConflictException | ForbiddenException lost) {
+            outcomes.rejected++;
+            return;
+        }
+
+        outcomes.accepted++;
+        if (game.turn().incrementAndGet() == DRAW.length)
+            games.set(slot, newGame());
+    }
+
+    private HotGame newGame() {
+        Long x = players.save(new Player().setName("X" + names.incrementAndGet())).getId();
+        Long o = players.save(new Player().setName("O" + names.incrementAndGet())).getId();
+        Game game = gameService.createGame(x);
+        gameService.joinGame(game.getId(), o);
+        return new HotGame(game.getId(), x, o, new AtomicInteger());
+    }
+}
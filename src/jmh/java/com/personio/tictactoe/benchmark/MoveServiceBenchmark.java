@@ -0,0 +1,73 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.dto.PlayMoveResponse;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.repository.GameRepository;
+import com.personio.tictactoe.repository.MoveRepository;
+import com.personio.tictactoe.service.MoveService;
+import com.personio.tictactoe.store.ActiveGameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board decoding and rendering in {@link MoveService#viewGame} without a database: the game repository is
+ * a plain proxy handing back a prepared game, so only the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveServiceBenchmark {
+
+    @Param({"3", "7", "15"})
+    private int boardSize;
+
+    private MoveService moveService;
+    private Long gameId;
+
+    @Setup
+    public void setUp() {
+        Geometry geometry = Geometry.of(boardSize, null);
+        Player alice = new Player().setId(1L).setName("Alice");
+        Player bob = new Player().setId(2L).setName("Bob");
+        Game game = new Game()
+                .setId(1L)
+                .setVersion(1L)
+                .setInitiator(alice)
+                .setOpponent(bob)
+                .setGameStatus(GameStatus.PLAYER_X_TURN)
+                .setGeometry(geometry)
+                .setBoard(BenchmarkBoards.midGame(geometry, geometry.cells() / 2, new SplittableRandom(42)));
+
+        gameId = game.getId();
+        moveService = new MoveService(
+                stub(GameRepository.class, "findById", Optional.of(game)),
+                stub(MoveRepository.class, "findByGameId", List.of()),
+                new ActiveGameStore(ActiveGameStore.Mode.DATABASE, false, 0, 0, null, null, null),
+                null,
+                event -> { });
+    }
+
+    @Benchmark
+    public PlayMoveResponse viewGame() {
+        return moveService.viewGame(gameId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String method, Object result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, m, args) -> {
+            if (m.getName().equals(method)) return result;
+            throw new UnsupportedOperationException(m.getName());
+        });
+    }
+}
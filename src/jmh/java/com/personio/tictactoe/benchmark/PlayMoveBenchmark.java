@@ -0,0 +1,82 @@
+package com.personio.tictactoe.benchmark;
+
+import com.personio.tictactoe.TicTacToeApplication;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.service.GameService;
+import com.personio.tictactoe.service.MoveService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process {@link MoveService#playMove} against the in-memory H2 database. Each invocation registers two
+ * players under names no earlier invocation used (player names are unique, a player can only ever be the
+ * opponent of one game, and a finished game may not be written back yet in {@code MEMORY} mode), creates and
+ * joins a game and plays it to a draw, so the score is per move with that setup amortized over the 9 moves. {@code MEMORY} runs the moves
+ * against the write-behind active-game store instead of locking and updating the game row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayMoveBenchmark {
+
+    // X and O alternate on these cells and nobody ever completes a line
+    private static final int[] DRAW = {0, 4, 8, 1, 7, 6, 2, 5, 3};
+
+    @Param({"DATABASE", "MEMORY"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private MoveService moveService;
+    private PlayerRepository players;
+    private final AtomicLong names = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicTacToeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--tictactoe.store.mode=" + store,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        gameService = context.getBean(GameService.class);
+        moveService = context.getBean(MoveService.class);
+
+        players = context.getBean(PlayerRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public Object playDrawnGame() {
+        Long aliceId = players.save(new Player().setName("X" + names.incrementAndGet())).getId();
+        Long bobId = players.save(new Player().setName("O" + names.incrementAndGet())).getId();
+        Game game = gameService.createGame(aliceId);
+        gameService.joinGame(game.getId(), bobId);
+
+        Object last = null;
+        for (int i = 0; i < DRAW.length; i++) {
+            PlayMoveRequest request = new PlayMoveRequest()
+                    .setPlayerId(i % 2 == 0 ? aliceId : bobId)
+                    .setMovementIndex(DRAW[i]);
+            last = moveService.playMove(game.getId(), request);
+        }
+        return last;
+    }
+}
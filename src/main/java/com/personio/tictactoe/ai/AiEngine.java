@@ -0,0 +1,25 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.enums.Movement;
+
+public interface AiEngine {
+
+    /**
+     * Best cell for {@code symbol} to play found within {@code budget}, or {@code -1} when the game is
+     * already over. Always returns a legal move, even when the budget runs out before any search.
+     */
+    int computeBestMove(GameBoard board, Movement symbol, SearchBudget budget);
+
+    /** The budget this engine is configured to spend on a move when the caller has no tighter one. */
+    SearchBudget defaultBudget();
+
+    /** For engines that randomize their search: the same seed and budget give the same move. Others ignore it. */
+    default int computeBestMove(GameBoard board, Movement symbol, SearchBudget budget, long seed) {
+        return computeBestMove(board, symbol, budget);
+    }
+
+    default int computeBestMove(GameBoard board, Movement symbol) {
+        return computeBestMove(board, symbol, defaultBudget());
+    }
+}
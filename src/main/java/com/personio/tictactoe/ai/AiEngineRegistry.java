@@ -0,0 +1,22 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.EngineType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AiEngineRegistry {
+
+    private final TicTacToeAiEngine classicEngine;
+    private final GridAiEngine gridEngine;
+    private final MctsEngine mctsEngine;
+
+    public AiEngine engineFor(EngineType type, Geometry geometry) {
+        if (type == EngineType.MCTS)
+            return mctsEngine;
+
+        return geometry.isClassic() ? classicEngine : gridEngine;
+    }
+}
@@ -0,0 +1,82 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.enums.Movement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps the p99 latency of AI moves under a server-wide cap. Every search gets the cap as its deadline,
+ * minus the p99 of how far recent searches overran the deadline they were given, so the time engines
+ * spend past a budget check is paid for up front.
+ */
+@Component
+public class AiLatencyGovernor {
+
+    static final int WINDOW = 1024;
+    private static final int RECOMPUTE_INTERVAL = 64;
+    private static final long MIN_ALLOWANCE_NANOS = 5_000_000;
+
+    private final long capNanos;
+    private final long[] overruns = new long[WINDOW];
+    private final long[] latencies = new long[WINDOW];
+    private final AtomicLong recorded = new AtomicLong();
+
+    private volatile long overrunP99;
+    private volatile long latencyP99;
+
+    public AiLatencyGovernor(@Value("${tictactoe.ai.latency.p99-cap-ms:2000}") long p99CapMillis) {
+        if (p99CapMillis < 1)
+            throw new IllegalArgumentException("p99 cap must be positive");
+
+        this.capNanos = p99CapMillis * 1_000_000;
+    }
+
+    /** Runs {@code engine} on its own budget tightened to what the cap allows right now. */
+    public int computeBestMove(AiEngine engine, GameBoard board, Movement symbol, BooleanSupplier cancelled) {
+        long start = System.nanoTime();
+        SearchBudget budget = engine.defaultBudget().capTime(allowance()).cancelledWhen(cancelled);
+        int move = engine.computeBestMove(board, symbol, budget);
+        record(budget, start);
+        return move;
+    }
+
+    public Duration allowance() {
+        return Duration.ofNanos(Math.max(MIN_ALLOWANCE_NANOS, capNanos - overrunP99));
+    }
+
+    private void record(SearchBudget budget, long startNanos) {
+        long end = System.nanoTime();
+        long n = recorded.getAndIncrement();
+        int slot = (int) (n % WINDOW);
+        overruns[slot] = budget.deadline() == Long.MAX_VALUE ? 0 : Math.max(0, end - budget.deadline());
+        latencies[slot] = end - startNanos;
+
+        if (n % RECOMPUTE_INTERVAL == 0) {
+            int samples = (int) Math.min(n + 1, WINDOW);
+            overrunP99 = p99(overruns, samples);
+            latencyP99 = p99(latencies, samples);
+        }
+    }
+
+    public Duration cap() {
+        return Duration.ofNanos(capNanos);
+    }
+
+    /** p99 of the recorded AI move latencies, refreshed every few moves. */
+    public Duration observedP99() {
+        return Duration.ofNanos(latencyP99);
+    }
+
+    // racy reads of the rings only blur the estimate
+    private static long p99(long[] ring, int samples) {
+        long[] sorted = Arrays.copyOf(ring, samples);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(samples * 0.99) - 1];
+    }
+}
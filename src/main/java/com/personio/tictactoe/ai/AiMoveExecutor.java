@@ -0,0 +1,81 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.enums.Movement;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for AI searches in live games. Callers hold no transaction or connection while
+ * a search runs here, so AI CPU time cannot starve the connection pool; once every worker is busy and
+ * the queue is full, further AI moves are refused with 503 instead of piling up. Whole AI turns are
+ * submitted here straight from the request, so this queue is the only one they wait in.
+ */
+@Component
+public class AiMoveExecutor {
+
+    private static final ThreadLocal<Boolean> ON_POOL = ThreadLocal.withInitial(() -> false);
+
+    private final AiLatencyGovernor governor;
+    private final ThreadPoolExecutor pool;
+
+    public AiMoveExecutor(AiLatencyGovernor governor,
+                          @Value("${tictactoe.ai.executor.threads:0}") int threads,
+                          @Value("${tictactoe.ai.executor.queue-capacity:256}") int queueCapacity) {
+        this.governor = governor;
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread t = new Thread(() -> {
+                ON_POOL.set(true);
+                r.run();
+            }, "ai-move-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Queues {@code turn} on the AI pool, or refuses it with 503 when the queue is full. */
+    public <T> CompletableFuture<T> submit(Supplier<T> turn) {
+        try {
+            return CompletableFuture.supplyAsync(turn, pool);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many AI moves in progress, please retry");
+        }
+    }
+
+    /**
+     * Runs the search and returns its move, or -1 on a finished board. Called from a pool worker it runs
+     * in place, so a turn never waits on a second slot of its own pool.
+     */
+    public int computeBestMove(AiEngine engine, GameBoard board, Movement symbol, BooleanSupplier cancelled) {
+        if (ON_POOL.get())
+            return governor.computeBestMove(engine, board, symbol, cancelled);
+
+        CompletableFuture<Integer> move = submit(() -> governor.computeBestMove(engine, board, symbol, cancelled));
+        try {
+            return move.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
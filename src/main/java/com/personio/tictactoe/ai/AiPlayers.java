@@ -0,0 +1,43 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * The player the server moves for. It is looked up by its unique name, or registered, once at startup;
+ * after that the AI path works from the cached identity.
+ */
+@Component
+public class AiPlayers {
+
+    public static final String AI_NAME = "AI_BOT";
+
+    private final PlayerRepository playerRepository;
+    private volatile Player ai;
+
+    public AiPlayers(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    @PostConstruct
+    void resolve() {
+        ai = playerRepository.findPlayerByName(AI_NAME).orElseGet(this::register);
+    }
+
+    /** The AI opponent. */
+    public Player ai() {
+        return ai;
+    }
+
+    // another instance starting against the same database may have registered it first
+    private Player register() {
+        try {
+            return playerRepository.saveAndFlush(new Player().setName(AI_NAME));
+        } catch (DataIntegrityViolationException e) {
+            return playerRepository.findPlayerByName(AI_NAME).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.personio.tictactoe.ai;
+
+/**
+ * Base-3 position indices computed from board masks with table lookups: cell {@code i} contributes
+ * {@code 3^i} times 0 = empty, 1 = X, 2 = O.
+ */
+final class BoardIndex {
+
+    static final int POSITIONS = 19_683; // 3^9
+
+    private static final int MASKS = 512;
+
+    private static final int[][] SYMMETRIES = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 8},
+            {6, 3, 0, 7, 4, 1, 8, 5, 2},
+            {8, 7, 6, 5, 4, 3, 2, 1, 0},
+            {2, 5, 8, 1, 4, 7, 0, 3, 6},
+            {2, 1, 0, 5, 4, 3, 8, 7, 6},
+            {6, 7, 8, 3, 4, 5, 0, 1, 2},
+            {0, 3, 6, 1, 4, 7, 2, 5, 8},
+            {8, 5, 2, 7, 4, 1, 6, 3, 0}
+    };
+
+    private static final int[] BASE3 = new int[MASKS];
+    private static final int[][] SYMMETRIC_BASE3 = new int[SYMMETRIES.length][MASKS];
+
+    static {
+        for (int mask = 0; mask < MASKS; mask++)
+            for (int i = 0, pow = 1; i < 9; i++, pow *= 3)
+                if ((mask & (1 << i)) != 0) BASE3[mask] += pow;
+
+        for (int mask = 0; mask < MASKS; mask++) {
+            for (int s = 0; s < SYMMETRIES.length; s++)
+                SYMMETRIC_BASE3[s][mask] = BASE3[transform(mask, s)];
+        }
+    }
+
+    private BoardIndex() {
+    }
+
+    static int of(int x, int o) {
+        return BASE3[x] + 2 * BASE3[o];
+    }
+
+    /** Symmetry whose image of the position has the {@link #canonical} index. */
+    static int canonicalSymmetry(int x, int o) {
+        int best = 0;
+        for (int s = 1; s < SYMMETRIC_BASE3.length; s++)
+            if (SYMMETRIC_BASE3[s][x] + 2 * SYMMETRIC_BASE3[s][o] < SYMMETRIC_BASE3[best][x] + 2 * SYMMETRIC_BASE3[best][o])
+                best = s;
+        return best;
+    }
+
+    /** Image of a mask under symmetry {@code s}: its cell {@code i} is cell {@link #source} of the mask. */
+    static int transform(int mask, int s) {
+        int mapped = 0;
+        for (int i = 0; i < 9; i++)
+            if ((mask & (1 << SYMMETRIES[s][i])) != 0) mapped |= 1 << i;
+        return mapped;
+    }
+
+    /** Cell of the original board that symmetry {@code s} moves to {@code cell}. */
+    static int source(int s, int cell) {
+        return SYMMETRIES[s][cell];
+    }
+
+    /** Smallest index among the position's 8 rotations and reflections. */
+    static int canonical(int x, int o) {
+        int min = Integer.MAX_VALUE;
+        for (int[] base3 : SYMMETRIC_BASE3)
+            min = Math.min(min, base3[x] + 2 * base3[o]);
+        return min;
+    }
+}
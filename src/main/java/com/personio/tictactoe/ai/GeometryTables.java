@@ -0,0 +1,82 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.Geometry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-geometry lookup tables shared by the grid engines: lines through each cell, neighbourhoods,
+ * line weights and Zobrist keys. Built once per geometry and never modified.
+ */
+final class GeometryTables {
+
+    static final int MAX_WEIGHT = 1 << 16;
+
+    private static final Map<Geometry, GeometryTables> CACHE = new ConcurrentHashMap<>();
+
+    final int size;
+    final int cells;
+    final int winLength;
+    final int[][] lines;
+    final int[][] cellLines;
+    final int[][] neighbours;
+    final long[][] zobrist;
+    final long sideKey;
+    final int[] weights;
+    final int center;
+
+    private GeometryTables(Geometry geometry) {
+        int n = geometry.size();
+        this.size = n;
+        this.cells = geometry.cells();
+        this.winLength = geometry.winLength();
+        this.lines = geometry.lines();
+
+        int[] perCell = new int[cells];
+        for (int[] line : lines)
+            for (int cell : line) perCell[cell]++;
+
+        this.cellLines = new int[cells][];
+        for (int c = 0; c < cells; c++) cellLines[c] = new int[perCell[c]];
+        int[] fill = new int[cells];
+        for (int l = 0; l < lines.length; l++)
+            for (int cell : lines[l]) cellLines[cell][fill[cell]++] = l;
+
+        this.neighbours = new int[cells][];
+        for (int c = 0; c < cells; c++) {
+            int row = c / n;
+            int col = c % n;
+            int[] buffer = new int[24];
+            int count = 0;
+            for (int dr = -2; dr <= 2; dr++)
+                for (int dc = -2; dc <= 2; dc++) {
+                    int r = row + dr;
+                    int cc = col + dc;
+                    if ((dr != 0 || dc != 0) && r >= 0 && r < n && cc >= 0 && cc < n)
+                        buffer[count++] = r * n + cc;
+                }
+            neighbours[c] = Arrays.copyOf(buffer, count);
+        }
+
+        SplittableRandom random = new SplittableRandom(31L * n + winLength);
+        this.zobrist = new long[cells][2];
+        for (long[] keys : zobrist) {
+            keys[0] = random.nextLong();
+            keys[1] = random.nextLong();
+        }
+        this.sideKey = random.nextLong();
+
+        // a line holding c marks of one side only is worth 8^(c-1), capped so sums stay far below a win
+        this.weights = new int[winLength + 1];
+        for (int c = 1; c < weights.length; c++)
+            weights[c] = c == 1 ? 1 : Math.min(weights[c - 1] * 8, MAX_WEIGHT);
+        this.center = (n / 2) * n + n / 2;
+    }
+
+    static GeometryTables of(Geometry geometry) {
+        return CACHE.computeIfAbsent(geometry, GeometryTables::new);
+    }
+}
@@ -0,0 +1,369 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Engine for any {@link Geometry}: iterative-deepening alpha-beta over a heuristic that scores every
+ * open line by how many marks it already holds, with a shared Zobrist-hashed transposition table.
+ * Root moves after the first are split across a dedicated {@link ForkJoinPool}. The move of the last
+ * completed iteration is returned once the {@link SearchBudget} runs out.
+ */
+@Component
+public class GridAiEngine implements AiEngine {
+
+    static final int WIN = 1_000_000_000;
+
+    private static final int NODE_CHECK_INTERVAL = 1024;
+    private static final int MAX_PLY = Geometry.MAX_CELLS + 1;
+
+    private final int maxDepth;
+    private final Duration timeLimit;
+    private final int maxBranching;
+    private final ZobristTable transpositions;
+    private final ForkJoinPool pool;
+
+    public GridAiEngine(@Value("${tictactoe.ai.grid.max-depth:8}") int maxDepth,
+                        @Value("${tictactoe.ai.grid.time-limit-ms:1000}") long timeLimitMillis,
+                        @Value("${tictactoe.ai.grid.max-branching:12}") int maxBranching,
+                        @Value("${tictactoe.ai.grid.transposition-capacity:262144}") int transpositionCapacity,
+                        @Value("${tictactoe.ai.grid.parallelism:0}") int parallelism) {
+        this.maxDepth = maxDepth;
+        this.timeLimit = Duration.ofMillis(timeLimitMillis);
+        this.maxBranching = maxBranching;
+        this.transpositions = new ZobristTable(transpositionCapacity);
+
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    public int parallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    @Override
+    public SearchBudget defaultBudget() {
+        return SearchBudget.within(timeLimit);
+    }
+
+    @Override
+    public int computeBestMove(GameBoard board, Movement symbol, SearchBudget budget) {
+        if (board.isFinished())
+            return -1;
+
+        return new Search(board, symbol, budget).run();
+    }
+
+    public ZobristTable transpositions() {
+        return transpositions;
+    }
+
+    private final class Search {
+
+        private final GeometryTables t;
+        private final int cellCount;
+        private final boolean smallBoard;
+        private final byte[] cells;
+        private final int[][] counts;
+        private final Movement root;
+        private final SearchBudget budget;
+        private final AtomicLong spent;
+
+        private int stones;
+        private int eval;
+        private long hash;
+        private long nodes;
+        private boolean aborted;
+
+        Search(GameBoard board, Movement root, SearchBudget budget) {
+            Geometry geometry = board.geometry();
+            this.t = GeometryTables.of(geometry);
+            this.cellCount = geometry.cells();
+            this.smallBoard = geometry.size() <= 5;
+            this.cells = new byte[cellCount];
+            this.counts = new int[2][t.lines.length];
+            this.root = root;
+            this.budget = budget;
+            this.spent = new AtomicLong();
+
+            for (int c = 0; c < cellCount; c++) {
+                Movement m = board.at(c);
+                if (m != null) place(c, m.ordinal());
+            }
+        }
+
+        /** Copy of another search's position, for a worker that searches one root move in parallel. */
+        Search(Search other) {
+            this.t = other.t;
+            this.cellCount = other.cellCount;
+            this.smallBoard = other.smallBoard;
+            this.cells = other.cells.clone();
+            this.counts = new int[][]{other.counts[0].clone(), other.counts[1].clone()};
+            this.root = other.root;
+            this.budget = other.budget;
+            this.spent = other.spent;
+            this.stones = other.stones;
+            this.eval = other.eval;
+            this.hash = other.hash;
+        }
+
+        int run() {
+            int[] moves = candidates(root.ordinal(), -1);
+            int best = moves[0];
+
+            for (int depth = 1; depth <= maxDepth && depth <= cellCount - stones; depth++) {
+                int[] result = searchRoot(depth, orderRoot(moves, best));
+
+                if (aborted) break;
+                best = result[1];
+                if (Math.abs(result[0]) > WIN - MAX_PLY) break;
+            }
+            return best;
+        }
+
+        /**
+         * Searches the first (eldest) root move alone to get a bound, then the younger brothers, in
+         * parallel on the pool when there is one. Returns {score, move}.
+         */
+        private int[] searchRoot(int depth, int[] moves) {
+            int alpha = searchRootMove(this, moves[0], depth, -WIN - 1);
+            int best = moves[0];
+
+            if (pool == null || moves.length < 2) {
+                for (int i = 1; i < moves.length && !aborted; i++) {
+                    int score = searchRootMove(this, moves[i], depth, alpha);
+                    if (!aborted && score > alpha) {
+                        alpha = score;
+                        best = moves[i];
+                    }
+                }
+                return new int[]{alpha, best};
+            }
+
+            AtomicInteger sharedAlpha = new AtomicInteger(alpha);
+            List<ForkJoinTask<int[]>> tasks = new ArrayList<>(moves.length - 1);
+
+            for (int i = 1; i < moves.length; i++) {
+                int move = moves[i];
+                tasks.add(pool.submit(() -> {
+                    Search worker = new Search(this);
+                    int floor = sharedAlpha.get();
+                    int score = searchRootMove(worker, move, depth, floor);
+                    if (!worker.aborted) sharedAlpha.accumulateAndGet(score, Math::max);
+                    return new int[]{score, floor, worker.aborted ? 1 : 0, (int) worker.nodes};
+                }));
+            }
+
+            // a score only counts when it beat the bound the worker started from; ties keep move order
+            for (int i = 0; i < tasks.size(); i++) {
+                int[] r = tasks.get(i).join();
+                nodes += r[3];
+                if (r[2] == 1) aborted = true;
+                else if (r[0] > r[1] && r[0] > alpha) {
+                    alpha = r[0];
+                    best = moves[i + 1];
+                }
+            }
+            return new int[]{alpha, best};
+        }
+
+        private int searchRootMove(Search search, int move, int depth, int alpha) {
+            int side = root.ordinal();
+            search.place(move, side);
+            int score = -search.negamax(depth - 1, -WIN - 1, -alpha, 1 - side, 1, move);
+            search.undo(move, side);
+            return score;
+        }
+
+        private int negamax(int depth, int alpha, int beta, int side, int ply, int lastMove) {
+            // node budgets count every worker of the search
+            if ((++nodes % NODE_CHECK_INTERVAL) == 0 && budget.isExhausted(spent.addAndGet(NODE_CHECK_INTERVAL)))
+                aborted = true;
+            if (aborted) return 0;
+
+            if (completesLine(lastMove, 1 - side)) return -(WIN - ply);
+            if (stones == cellCount) return 0;
+            if (depth == 0) return side == 0 ? eval : -eval;
+
+            long key = side == 0 ? hash : hash ^ t.sideKey;
+            long entry = transpositions.probe(key);
+            int ttMove = -1;
+            if (entry != 0) {
+                ttMove = ZobristTable.bestMove(entry);
+                if (ZobristTable.depth(entry) >= depth) {
+                    int value = fromTable(ZobristTable.value(entry), ply);
+                    int flag = ZobristTable.flag(entry);
+                    if (flag == ZobristTable.EXACT) return value;
+                    if (flag == ZobristTable.LOWER) alpha = Math.max(alpha, value);
+                    else beta = Math.min(beta, value);
+                    if (alpha >= beta) return value;
+                }
+            }
+
+            int alphaOrig = alpha;
+            int best = -WIN - 1;
+            int bestMove = -1;
+
+            for (int move : candidates(side, ttMove)) {
+                place(move, side);
+                int score = -negamax(depth - 1, -beta, -alpha, 1 - side, ply + 1, move);
+                undo(move, side);
+                if (aborted) return 0;
+
+                if (score > best) {
+                    best = score;
+                    bestMove = move;
+                }
+                alpha = Math.max(alpha, score);
+                if (alpha >= beta) break;
+            }
+
+            int flag = best <= alphaOrig ? ZobristTable.UPPER
+                    : best >= beta ? ZobristTable.LOWER
+                    : ZobristTable.EXACT;
+            transpositions.store(key, depth, flag, toTable(best, ply), bestMove);
+            return best;
+        }
+
+        // win scores are stored relative to the stored node so they stay valid at any ply
+        private int toTable(int value, int ply) {
+            if (value > WIN - MAX_PLY) return value + ply;
+            if (value < -WIN + MAX_PLY) return value - ply;
+            return value;
+        }
+
+        private int fromTable(int value, int ply) {
+            if (value > WIN - MAX_PLY) return value - ply;
+            if (value < -WIN + MAX_PLY) return value + ply;
+            return value;
+        }
+
+        private boolean completesLine(int cell, int side) {
+            if (cell < 0) return false;
+            int k = t.winLength;
+            for (int l : t.cellLines[cell])
+                if (counts[side][l] == k) return true;
+            return false;
+        }
+
+        /** Empty cells worth searching, best first; on large boards only cells near existing marks. */
+        private int[] candidates(int side, int ttMove) {
+            int[] moves = new int[cellCount];
+            int[] scores = new int[cellCount];
+            int size = 0;
+
+            if (stones == 0) {
+                moves[size++] = t.center;
+            } else {
+                boolean[] seen = smallBoard ? null : new boolean[cellCount];
+                for (int c = 0; c < cellCount; c++) {
+                    if (smallBoard) {
+                        if (cells[c] == 0) moves[size++] = c;
+                        continue;
+                    }
+                    if (cells[c] == 0) continue;
+                    for (int nb : t.neighbours[c]) {
+                        if (cells[nb] == 0 && !seen[nb]) {
+                            seen[nb] = true;
+                            moves[size++] = nb;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < size; i++)
+                scores[i] = moves[i] == ttMove ? Integer.MAX_VALUE : threat(moves[i], side);
+
+            // insertion sort by descending score; lists are short
+            for (int i = 1; i < size; i++) {
+                int m = moves[i];
+                int s = scores[i];
+                int j = i - 1;
+                for (; j >= 0 && scores[j] < s; j--) {
+                    moves[j + 1] = moves[j];
+                    scores[j + 1] = scores[j];
+                }
+                moves[j + 1] = m;
+                scores[j + 1] = s;
+            }
+
+            int limit = smallBoard ? size : Math.min(size, maxBranching);
+            return Arrays.copyOf(moves, limit);
+        }
+
+        private int[] orderRoot(int[] moves, int best) {
+            int[] ordered = moves.clone();
+            for (int i = 0; i < ordered.length; i++) {
+                if (ordered[i] == best) {
+                    System.arraycopy(ordered, 0, ordered, 1, i);
+                    ordered[0] = best;
+                    break;
+                }
+            }
+            return ordered;
+        }
+
+        /** How much a mark on {@code cell} extends our lines plus how much it blocks the opponent's. */
+        private int threat(int cell, int side) {
+            int score = 0;
+            int k = t.winLength;
+            for (int l : t.cellLines[cell]) {
+                int own = counts[side][l];
+                int other = counts[1 - side][l];
+                if (other == 0) score += t.weights[Math.min(own + 1, k)] * 2;
+                if (own == 0) score += t.weights[Math.min(other + 1, k)];
+            }
+            return score;
+        }
+
+        private void place(int cell, int side) {
+            for (int l : t.cellLines[cell]) {
+                eval -= contribution(l);
+                counts[side][l]++;
+                eval += contribution(l);
+            }
+            cells[cell] = (byte) (side + 1);
+            hash ^= t.zobrist[cell][side];
+            stones++;
+        }
+
+        private void undo(int cell, int side) {
+            for (int l : t.cellLines[cell]) {
+                eval -= contribution(l);
+                counts[side][l]--;
+                eval += contribution(l);
+            }
+            cells[cell] = 0;
+            hash ^= t.zobrist[cell][side];
+            stones--;
+        }
+
+        /** Heuristic value of one line from X's point of view. */
+        private int contribution(int line) {
+            int xs = counts[0][line];
+            int os = counts[1][line];
+            if (xs > 0 && os > 0) return 0;
+            if (xs > 0) return t.weights[xs];
+            if (os > 0) return -t.weights[os];
+            return 0;
+        }
+    }
+}
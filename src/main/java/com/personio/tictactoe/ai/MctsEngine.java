@@ -0,0 +1,309 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Monte Carlo tree search with UCT selection and uniformly random playouts, for any {@link Geometry}.
+ * Each worker grows its own tree from the root (root parallelism); the root visit counts are summed
+ * and the most visited move wins. A search stops when its {@link SearchBudget} runs out, where nodes
+ * count playouts; by default that is {@code playouts} simulations or the time limit.
+ */
+@Component
+public class MctsEngine implements AiEngine {
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int BUDGET_CHECK_INTERVAL = 64;
+
+    private final int playouts;
+    private final Duration timeLimit;
+    private final ForkJoinPool pool;
+    private final int workers;
+
+    public MctsEngine(@Value("${tictactoe.ai.mcts.playouts:20000}") int playouts,
+                      @Value("${tictactoe.ai.mcts.time-limit-ms:1000}") long timeLimitMillis,
+                      @Value("${tictactoe.ai.mcts.threads:0}") int threads) {
+        if (playouts < 1)
+            throw new IllegalArgumentException("playouts must be positive");
+
+        this.playouts = playouts;
+        this.timeLimit = Duration.ofMillis(timeLimitMillis);
+        this.workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    public int parallelism() {
+        return workers;
+    }
+
+    @Override
+    public SearchBudget defaultBudget() {
+        return SearchBudget.within(timeLimit).capNodes(playouts);
+    }
+
+    @Override
+    public int computeBestMove(GameBoard board, Movement symbol, SearchBudget budget) {
+        return computeBestMove(board, symbol, budget, ThreadLocalRandom.current().nextLong());
+    }
+
+    public int computeBestMove(GameBoard board, Movement symbol, long seed) {
+        return computeBestMove(board, symbol, defaultBudget(), seed);
+    }
+
+    /** Reproducible for a given seed as long as the budget runs out on playouts rather than time. */
+    @Override
+    public int computeBestMove(GameBoard board, Movement symbol, SearchBudget budget, long seed) {
+        if (board.isFinished())
+            return -1;
+
+        Position root = new Position(board);
+        int side = symbol.ordinal();
+
+        int forced = root.forcedMove(side);
+        if (forced >= 0) return forced;
+
+        long perWorker = Math.max(1, budget.nodeLimit() / workers);
+        SplittableRandom seeds = new SplittableRandom(seed);
+
+        int[] visits;
+        if (pool == null) {
+            visits = new Tree(root, side, seeds.split()).grow(perWorker, budget);
+        } else {
+            List<ForkJoinTask<int[]>> tasks = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                SplittableRandom random = seeds.split();
+                tasks.add(pool.submit(() -> new Tree(root, side, random).grow(perWorker, budget)));
+            }
+
+            visits = new int[root.cells.length];
+            for (ForkJoinTask<int[]> task : tasks) {
+                int[] counts = task.join();
+                for (int c = 0; c < visits.length; c++) visits[c] += counts[c];
+            }
+        }
+
+        int best = -1;
+        for (int c = 0; c < visits.length; c++)
+            if (root.cells[c] == 0 && (best < 0 || visits[c] > visits[best])) best = c;
+        return best;
+    }
+
+    /** One worker's search tree; only ever touched by the thread that grows it. */
+    private static final class Tree {
+
+        private final Position root;
+        private final Node top;
+        private final SplittableRandom random;
+
+        Tree(Position root, int side, SplittableRandom random) {
+            this.root = root;
+            this.random = random;
+            this.top = new Node(null, -1, 1 - side, false, root.expansions());
+        }
+
+        /** Runs simulations and returns the visit count of every root move, indexed by cell. */
+        int[] grow(long playouts, SearchBudget budget) {
+            for (long i = 0; i < playouts; i++) {
+                // time and cancellation only; the playout cap is already split between workers
+                if (i % BUDGET_CHECK_INTERVAL == 0 && i > 0 && budget.isExhausted(0)) break;
+                simulate(new Position(root));
+            }
+
+            int[] visits = new int[root.cells.length];
+            for (int i = 0; i < top.childCount; i++)
+                visits[top.children[i].move] = top.children[i].visits;
+            return visits;
+        }
+
+        private void simulate(Position position) {
+            Node node = top;
+
+            while (!node.terminal && node.untriedCount == 0 && node.childCount > 0) {
+                node = node.select();
+                position.place(node.move, node.mover);
+            }
+
+            if (!node.terminal && node.untriedCount > 0) {
+                int pick = random.nextInt(node.untriedCount);
+                int move = node.untried[pick];
+                node.untried[pick] = node.untried[--node.untriedCount];
+
+                int mover = 1 - node.mover;
+                boolean won = position.place(move, mover);
+                boolean terminal = won || position.isFull();
+                Node child = new Node(node, move, mover, terminal, terminal ? new int[0] : position.expansions());
+                node.add(child);
+                node = child;
+            }
+
+            int winner = node.terminal ? position.winner : position.playout(1 - node.mover, random);
+
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (winner == n.mover) n.score += 1.0;
+                else if (winner < 0) n.score += 0.5;
+            }
+        }
+    }
+
+    private static final class Node {
+
+        final Node parent;
+        final int move;
+        final int mover;
+        final boolean terminal;
+        final int[] untried;
+        int untriedCount;
+        Node[] children;
+        int childCount;
+        int visits;
+        double score;
+
+        Node(Node parent, int move, int mover, boolean terminal, int[] untried) {
+            this.parent = parent;
+            this.move = move;
+            this.mover = mover;
+            this.terminal = terminal;
+            this.untried = untried;
+            this.untriedCount = untried.length;
+            this.children = new Node[untried.length];
+        }
+
+        void add(Node child) {
+            children[childCount++] = child;
+        }
+
+        /** Child maximizing UCT; scores are from the point of view of the side that made the child's move. */
+        Node select() {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < childCount; i++) {
+                Node c = children[i];
+                double value = c.score / c.visits + EXPLORATION * Math.sqrt(logVisits / c.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = c;
+                }
+            }
+            return best;
+        }
+    }
+
+    /** Mutable board with per-line mark counts so a move can tell in O(lines through the cell) whether it wins. */
+    private static final class Position {
+
+        private final GeometryTables t;
+        private final byte[] cells;
+        private final int[][] counts;
+        private int stones;
+        private int winner = -1;
+
+        Position(GameBoard board) {
+            this.t = GeometryTables.of(board.geometry());
+            this.cells = new byte[t.cells];
+            this.counts = new int[2][t.lines.length];
+            for (int c = 0; c < t.cells; c++) {
+                Movement m = board.at(c);
+                if (m != null) place(c, m.ordinal());
+            }
+        }
+
+        Position(Position other) {
+            this.t = other.t;
+            this.cells = other.cells.clone();
+            this.counts = new int[][]{other.counts[0].clone(), other.counts[1].clone()};
+            this.stones = other.stones;
+            this.winner = other.winner;
+        }
+
+        /** Places a mark and returns whether it completed a line. */
+        boolean place(int cell, int side) {
+            boolean won = false;
+            for (int l : t.cellLines[cell])
+                if (++counts[side][l] == t.winLength) won = true;
+            cells[cell] = (byte) (side + 1);
+            stones++;
+            if (won) winner = side;
+            return won;
+        }
+
+        boolean isFull() {
+            return stones == t.cells;
+        }
+
+        /** Plays random moves to the end and returns the winning side, or -1 for a draw. */
+        int playout(int side, SplittableRandom random) {
+            int[] empty = new int[t.cells - stones];
+            int n = 0;
+            for (int c = 0; c < t.cells; c++)
+                if (cells[c] == 0) empty[n++] = c;
+
+            while (n > 0) {
+                int pick = random.nextInt(n);
+                int cell = empty[pick];
+                empty[pick] = empty[--n];
+                if (place(cell, side)) return side;
+                side = 1 - side;
+            }
+            return -1;
+        }
+
+        /** A move that wins now, else one that blocks the opponent's immediate win, else -1. */
+        int forcedMove(int side) {
+            int block = -1;
+            int k = t.winLength;
+            for (int c = 0; c < t.cells; c++) {
+                if (cells[c] != 0) continue;
+                for (int l : t.cellLines[c]) {
+                    if (counts[side][l] == k - 1 && counts[1 - side][l] == 0) return c;
+                    if (block < 0 && counts[1 - side][l] == k - 1 && counts[side][l] == 0) block = c;
+                }
+            }
+            return block;
+        }
+
+        /** Moves the tree expands: every empty cell on small boards, cells near existing marks on larger ones. */
+        int[] expansions() {
+            int[] moves = new int[t.cells - stones];
+            int n = 0;
+
+            if (t.size <= 5 || stones == 0) {
+                if (stones == 0 && t.size > 5) return new int[]{t.center};
+                for (int c = 0; c < t.cells; c++)
+                    if (cells[c] == 0) moves[n++] = c;
+                return moves;
+            }
+
+            boolean[] seen = new boolean[t.cells];
+            for (int c = 0; c < t.cells; c++) {
+                if (cells[c] == 0) continue;
+                for (int nb : t.neighbours[c]) {
+                    if (cells[nb] == 0 && !seen[nb]) {
+                        seen[nb] = true;
+                        moves[n++] = nb;
+                    }
+                }
+            }
+            return Arrays.copyOf(moves, n);
+        }
+    }
+}
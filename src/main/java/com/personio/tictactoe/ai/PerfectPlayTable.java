@@ -0,0 +1,110 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.enums.Movement;
+
+import java.util.Arrays;
+
+/**
+ * Best move for every position reachable from the empty board, solved once and indexed by the
+ * base-3 encoding of the cells (cell {@code i} contributes {@code 3^i} times 0 = empty, 1 = X, 2 = O).
+ */
+public final class PerfectPlayTable {
+
+    public static final int NOT_IN_TABLE = Integer.MIN_VALUE;
+
+    private static final byte UNSOLVED = Byte.MIN_VALUE;
+    private static final byte NO_MOVE = -1;
+
+    private final byte[] bestMoves = new byte[BoardIndex.POSITIONS];
+    private final byte[] values = new byte[BoardIndex.POSITIONS];
+    private final int positions;
+    private final long buildNanos;
+
+    private PerfectPlayTable() {
+        long start = System.nanoTime();
+        Arrays.fill(values, UNSOLVED);
+        Arrays.fill(bestMoves, NO_MOVE);
+        solve(0, 0, Movement.X);
+
+        int solved = 0;
+        for (byte v : values) if (v != UNSOLVED) solved++;
+
+        this.positions = solved;
+        this.buildNanos = System.nanoTime() - start;
+    }
+
+    public static PerfectPlayTable build() {
+        return new PerfectPlayTable();
+    }
+
+    /**
+     * Returns the best move for {@code symbol}, {@code -1} for finished positions, or
+     * {@link #NOT_IN_TABLE} when the position is unreachable or {@code symbol} is not the side to move.
+     */
+    public int lookup(Board board, Movement symbol) {
+        int index = BoardIndex.of(board.x(), board.o());
+        if (symbol != board.toMove() || values[index] == UNSOLVED)
+            return NOT_IN_TABLE;
+
+        return bestMoves[index];
+    }
+
+    public int bestMove(int index) {
+        return bestMoves[index];
+    }
+
+    /** Negamax value for the side to move of a position in the table: +1 win, 0 draw, -1 loss. */
+    public int value(int index) {
+        return values[index];
+    }
+
+    public boolean contains(int index) {
+        return values[index] != UNSOLVED;
+    }
+
+    public int positions() {
+        return positions;
+    }
+
+    public long buildNanos() {
+        return buildNanos;
+    }
+
+    /** Negamax value of the position for the side to move: +1 win, 0 draw, -1 loss. */
+    private int solve(int x, int o, Movement toMove) {
+        int index = BoardIndex.of(x, o);
+        if (values[index] != UNSOLVED)
+            return values[index];
+
+        int value;
+
+        if (Board.hasLine(toMove == Movement.X ? o : x)) {
+            value = -1;
+        } else {
+            int best = Integer.MIN_VALUE;
+            int bestMove = NO_MOVE;
+            int free = ~(x | o) & Board.FULL;
+
+            for (int i = 0; i < Board.CELLS; i++) {
+                int bit = 1 << i;
+                if ((free & bit) == 0) continue;
+
+                int score = toMove == Movement.X
+                        ? -solve(x | bit, o, Movement.O)
+                        : -solve(x, o | bit, Movement.X);
+
+                if (score > best) {
+                    best = score;
+                    bestMove = i;
+                }
+            }
+
+            value = bestMove == NO_MOVE ? 0 : best;
+            bestMoves[index] = (byte) bestMove;
+        }
+
+        values[index] = (byte) value;
+        return value;
+    }
+}
@@ -0,0 +1,8 @@
+package com.personio.tictactoe.ai;
+
+/**
+ * Minimax evaluation of a classic position for the side to move: +1 win, 0 draw, -1 loss with best play.
+ * {@code scores} holds the value of playing each cell, {@code null} for occupied cells; {@code bestMove}
+ * is the lowest cell with the top score, or {@code -1} when the game is over.
+ */
+public record PositionAnalysis(int bestMove, int value, Integer[] scores) {}
@@ -0,0 +1,58 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.enums.Movement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scores every move of classic positions. Rotations and reflections of a position share a canonical
+ * index below {@link #POSITIONS}, so callers analyzing many boards can evaluate each canonical
+ * position once and {@link #orient} the result to every board that maps to it.
+ */
+@Component
+@RequiredArgsConstructor
+public class PositionAnalyzer {
+
+    public static final int POSITIONS = BoardIndex.POSITIONS;
+
+    private final TicTacToeAiEngine engine;
+
+    public static int canonicalIndex(Board board) {
+        return BoardIndex.canonical(board.x(), board.o());
+    }
+
+    /** The symmetric copy of {@code board} that {@link #canonicalIndex} names. */
+    public static Board canonical(Board board) {
+        int s = BoardIndex.canonicalSymmetry(board.x(), board.o());
+        return new Board(BoardIndex.transform(board.x(), s), BoardIndex.transform(board.o(), s));
+    }
+
+    /** Turns the analysis of {@code canonical(board)} back into {@code board}'s orientation. */
+    public static PositionAnalysis orient(PositionAnalysis canonical, Board board) {
+        int s = BoardIndex.canonicalSymmetry(board.x(), board.o());
+        Integer[] scores = new Integer[Board.CELLS];
+        for (int cell = 0; cell < Board.CELLS; cell++)
+            scores[BoardIndex.source(s, cell)] = canonical.scores()[cell];
+        return new PositionAnalysis(bestMove(scores), canonical.value(), scores);
+    }
+
+    public PositionAnalysis analyze(Board board) {
+        Integer[] scores = new Integer[Board.CELLS];
+        if (!board.isFinished()) {
+            Movement side = board.toMove();
+            for (int cell = 0; cell < Board.CELLS; cell++)
+                if (board.isEmpty(cell)) scores[cell] = -engine.value(board.with(cell, side));
+        }
+
+        int best = bestMove(scores);
+        return new PositionAnalysis(best, best < 0 ? engine.value(board) : scores[best], scores);
+    }
+
+    private static int bestMove(Integer[] scores) {
+        int best = -1;
+        for (int cell = 0; cell < scores.length; cell++)
+            if (scores[cell] != null && (best < 0 || scores[cell] > scores[best])) best = cell;
+        return best;
+    }
+}
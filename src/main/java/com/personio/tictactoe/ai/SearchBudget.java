@@ -0,0 +1,50 @@
+package com.personio.tictactoe.ai;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Limits of one anytime search: a {@link System#nanoTime()} deadline, a cap on nodes (or playouts) and a
+ * cancellation flag polled cooperatively. Engines stop as soon as any of them is hit and return the best
+ * move found so far, so a search started with an exhausted budget still answers with a legal move.
+ */
+public record SearchBudget(long deadline, long nodeLimit, BooleanSupplier cancelled) {
+
+    private static final BooleanSupplier NEVER = () -> false;
+
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, NEVER);
+
+    public static SearchBudget within(Duration timeLimit) {
+        return UNLIMITED.capTime(timeLimit);
+    }
+
+    public static SearchBudget nodes(long nodeLimit) {
+        return UNLIMITED.capNodes(nodeLimit);
+    }
+
+    /** Tightens the deadline to {@code timeLimit} from now if that comes earlier. */
+    public SearchBudget capTime(Duration timeLimit) {
+        long now = System.nanoTime();
+        long nanos = timeLimit.toNanos();
+        long candidate = nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos;
+        return deadline != Long.MAX_VALUE && deadline - candidate <= 0 ? this
+                : new SearchBudget(candidate, nodeLimit, cancelled);
+    }
+
+    public SearchBudget capNodes(long limit) {
+        return limit >= nodeLimit ? this : new SearchBudget(deadline, limit, cancelled);
+    }
+
+    public SearchBudget cancelledWhen(BooleanSupplier condition) {
+        BooleanSupplier previous = cancelled;
+        return new SearchBudget(deadline, nodeLimit,
+                previous == NEVER ? condition : () -> previous.getAsBoolean() || condition.getAsBoolean());
+    }
+
+    /** Whether a search that has visited {@code nodes} nodes must stop now. */
+    public boolean isExhausted(long nodes) {
+        return nodes >= nodeLimit
+                || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0)
+                || cancelled.getAsBoolean();
+    }
+}
@@ -1,70 +1,179 @@
 package com.personio.tictactoe.ai;
 
-public class TicTacToeAiEngine {
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.enums.Movement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
-    public int computeBestMove(String board, char maxSymbol) {
-        if (board == null || board.length() != 9)
-            throw new IllegalArgumentException("board must be 9 chars");
+@Slf4j
+@Component
+public class TicTacToeAiEngine implements AiEngine {
 
-        char min = (maxSymbol == 'X') ? 'O' : 'X';
-        char[] cells = board.toCharArray();
+    public enum Mode {
+        TABLE,
+        SEARCH
+    }
 
-        if (isWinner(cells, maxSymbol) || isWinner(cells, min) || isFull(cells))
-            return -1;
+    // center first, then corners, then edges
+    private static final int[] MOVE_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
 
-        int bestScore = Integer.MIN_VALUE;
-        int bestMove = -1;
+    private final Mode mode;
+    private final PerfectPlayTable table;
+    private final TranspositionTable transpositions;
 
-        for (int i = 0; i < 9; i++) {
-            if (cells[i] != '_') continue;
+    public TicTacToeAiEngine(@Value("${tictactoe.ai.mode:TABLE}") Mode mode,
+                             @Value("${tictactoe.ai.transposition-capacity:16384}") int transpositionCapacity) {
+        this.mode = mode;
+        this.transpositions = new TranspositionTable(transpositionCapacity);
+        this.table = mode == Mode.TABLE ? PerfectPlayTable.build() : null;
 
-            cells[i] = maxSymbol;
-            int score = minimax(cells, false, maxSymbol, min);
-            cells[i] = '_';
+        if (table != null)
+            log.info("Solved {} tic-tac-toe positions in {} ms", table.positions(), table.buildNanos() / 1_000_000);
+    }
 
-            if (score > bestScore) {
-                bestScore = score;
-                bestMove = i;
-            }
-        }
-        return bestMove;
+    public Mode getMode() {
+        return mode;
     }
 
-    private int minimax(char[] cells, boolean isAiTurn, char max, char min) {
-        if (isWinner(cells, max)) return +1000_000_000;
-        if (isWinner(cells, min)) return -1000_000_000;
-        if (isFull(cells)) return 0;
+    public TranspositionTable.Stats searchStats() {
+        return transpositions.stats();
+    }
 
-        char current = isAiTurn ? max : min;
-        int best = isAiTurn ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    public int computeBestMove(String board, char maxSymbol) {
+        return computeBestMove(Board.parse(board), maxSymbol == 'X' ? Movement.X : Movement.O);
+    }
 
-        for (int i = 0; i < 9; i++) {
-            if (cells[i] != '_') continue;
+    @Override
+    public SearchBudget defaultBudget() {
+        return SearchBudget.UNLIMITED;
+    }
 
-            cells[i] = current;
-            int score = minimax(cells, !isAiTurn, max, min);
-            cells[i] = '_';
+    @Override
+    public int computeBestMove(GameBoard board, Movement symbol, SearchBudget budget) {
+        if (!(board instanceof Board classic))
+            throw new IllegalArgumentException("TicTacToeAiEngine only plays the classic 3x3 board");
+
+        return computeBestMove(classic, symbol, budget);
+    }
 
-            if (isAiTurn) best = Math.max(best, score);
-            else best = Math.min(best, score);
+    public int computeBestMove(Board board, Movement symbol) {
+        return computeBestMove(board, symbol, SearchBudget.UNLIMITED);
+    }
+
+    public int computeBestMove(Board board, Movement symbol, SearchBudget budget) {
+        if (table != null) {
+            int move = table.lookup(board, symbol);
+            if (move != PerfectPlayTable.NOT_IN_TABLE) return move;
         }
-        return best;
+
+        return new Search(budget).run(board, symbol);
     }
 
-    private boolean isFull(char[] cells) {
-        for (char c : cells) if (c == '_') return false;
-        return true;
+    /** Minimax value of the position for the side to move: +1 win, 0 draw, -1 loss. */
+    public int value(Board board) {
+        if (table != null) {
+            int index = BoardIndex.of(board.x(), board.o());
+            if (table.contains(index)) return table.value(index);
+        }
+
+        return new Search(SearchBudget.UNLIMITED).value(board);
     }
 
-    private boolean isWinner(char[] c, char p) {
-        int[][] lines = {
-                {0, 1, 2}, {3, 4, 5}, {6, 7, 8}, // rows
-                {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, // cols
-                {0, 4, 8}, {2, 4, 6}          // diags
-        };
-        for (int[] line : lines) {
-            if (c[line[0]] == p && c[line[1]] == p && c[line[2]] == p) return true;
+    private final class Search {
+
+        private static final int BUDGET_CHECK_INTERVAL = 256;
+
+        private final SearchBudget budget;
+        private long nodes;
+        private boolean aborted;
+
+        Search(SearchBudget budget) {
+            this.budget = budget;
+        }
+
+        /** Scores root moves in order; if the budget runs out, the best fully searched move wins. */
+        int run(Board board, Movement max) {
+            if (board.isFinished())
+                return -1;
+
+            int bestScore = Integer.MIN_VALUE;
+            int bestMove = -1;
+
+            for (int i : MOVE_ORDER) {
+                if (!board.isEmpty(i)) continue;
+                if (bestMove == -1) bestMove = i;
+
+                Board child = board.with(i, max);
+                int score = -alphaBeta(child.x(), child.o(), opponent(max), -2, 2);
+                if (aborted) break;
+
+                if (score > bestScore || (score == bestScore && i < bestMove)) {
+                    bestScore = score;
+                    bestMove = i;
+                }
+            }
+            return bestMove;
         }
-        return false;
+
+        /** Exact, since the full window is wider than the range of values. */
+        int value(Board board) {
+            return alphaBeta(board.x(), board.o(), board.toMove(), -2, 2);
+        }
+
+        /** Negamax on raw masks so the recursion allocates nothing. */
+        private int alphaBeta(int x, int o, Movement toMove, int alpha, int beta) {
+            transpositions.countNode();
+            if (++nodes % BUDGET_CHECK_INTERVAL == 0 && budget.isExhausted(nodes))
+                aborted = true;
+            if (aborted) return 0;
+
+            boolean xToMove = toMove == Movement.X;
+            if (Board.hasLine(xToMove ? o : x)) return -1;
+            if ((x | o) == Board.FULL) return 0;
+
+            int key = TranspositionTable.canonicalKey(x, o, toMove);
+            int entry = transpositions.probe(key);
+            if (entry != 0) {
+                int value = TranspositionTable.value(entry);
+                switch (TranspositionTable.flag(entry)) {
+                    case TranspositionTable.EXACT -> { return value; }
+                    case TranspositionTable.LOWER -> alpha = Math.max(alpha, value);
+                    default -> beta = Math.min(beta, value);
+                }
+                if (alpha >= beta) return value;
+            }
+
+            int alphaOrig = alpha;
+            int best = -2;
+            int occupied = x | o;
+            Movement opponent = opponent(toMove);
+
+            for (int i : MOVE_ORDER) {
+                int bit = 1 << i;
+                if ((occupied & bit) != 0) continue;
+
+                int score = xToMove
+                        ? -alphaBeta(x | bit, o, opponent, -beta, -alpha)
+                        : -alphaBeta(x, o | bit, opponent, -beta, -alpha);
+                if (aborted) return 0;
+
+                best = Math.max(best, score);
+                alpha = Math.max(alpha, score);
+                if (alpha >= beta) break;
+            }
+
+            int flag = best <= alphaOrig ? TranspositionTable.UPPER
+                    : best >= beta ? TranspositionTable.LOWER
+                    : TranspositionTable.EXACT;
+            transpositions.store(key, flag, best);
+
+            return best;
+        }
+    }
+
+    private static Movement opponent(Movement movement) {
+        return movement == Movement.X ? Movement.O : Movement.X;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.personio.tictactoe.ai;
+
+import com.personio.tictactoe.model.enums.Movement;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free cache of search results shared by all engine callers. Positions are keyed by
+ * the smallest base-3 index among the board's 8 rotations and reflections, so symmetric positions
+ * share one entry. Each slot is a single packed int, written and read atomically.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    private final AtomicIntegerArray slots;
+    private final int mask;
+
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public TranspositionTable(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive");
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.slots = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+    }
+
+    /** Key of a position: its canonical base-3 index and the side to move. */
+    public static int canonicalKey(int x, int o, Movement toMove) {
+        return (BoardIndex.canonical(x, o) << 1) | toMove.ordinal();
+    }
+
+    /** Returns the packed entry for {@code key}, or 0 on a miss. */
+    public int probe(int key) {
+        probes.increment();
+        int entry = slots.get(slot(key));
+        if (entry == 0 || (entry & 0xFFFF) != key + 1)
+            return 0;
+
+        hits.increment();
+        return entry;
+    }
+
+    public void store(int key, int flag, int value) {
+        slots.set(slot(key), (key + 1) | (flag << 16) | ((value + 1) << 18));
+    }
+
+    public static int flag(int entry) {
+        return (entry >>> 16) & 0x3;
+    }
+
+    public static int value(int entry) {
+        return ((entry >>> 18) & 0x3) - 1;
+    }
+
+    public void countNode() {
+        nodes.increment();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public Stats stats() {
+        return new Stats(nodes.sum(), probes.sum(), hits.sum(), capacity());
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public record Stats(long nodes, long probes, long hits, int capacity) {
+
+        public double hitRate() {
+            return probes == 0 ? 0.0 : (double) hits / probes;
+        }
+    }
+}
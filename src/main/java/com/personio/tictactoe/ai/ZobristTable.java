@@ -0,0 +1,94 @@
+package com.personio.tictactoe.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free transposition table for Zobrist-hashed positions. Each slot holds the pair
+ * {@code (key ^ data, data)}; a torn read from a concurrent writer fails the key check and counts as a miss.
+ */
+public final class ZobristTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public ZobristTable(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive");
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.slots = new AtomicLongArray(size * 2);
+        this.mask = size - 1;
+    }
+
+    /** Returns the packed data stored for {@code key}, or 0 on a miss. */
+    public long probe(long key) {
+        probes.increment();
+        int slot = slot(key);
+        long data = slots.get(slot + 1);
+        if (data == 0 || (slots.get(slot) ^ data) != key)
+            return 0;
+
+        hits.increment();
+        return data;
+    }
+
+    /** Stores an entry, keeping the existing one if it was searched deeper for the same key. */
+    public void store(long key, int depth, int flag, int value, int bestMove) {
+        int slot = slot(key);
+        long existing = slots.get(slot + 1);
+        if (existing != 0 && (slots.get(slot) ^ existing) == key && depth(existing) > depth)
+            return;
+
+        long data = (value & 0xFFFF_FFFFL)
+                | ((long) (depth & 0xFF) << 32)
+                | ((long) flag << 40)
+                | ((long) (bestMove + 1) << 42)
+                | (1L << 62);
+        slots.set(slot, key ^ data);
+        slots.set(slot + 1, data);
+    }
+
+    public static int value(long data) {
+        return (int) data;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    public static int flag(long data) {
+        return (int) (data >>> 40) & 0x3;
+    }
+
+    /** Best move recorded for the position, or -1. */
+    public static int bestMove(long data) {
+        return ((int) (data >>> 42) & 0x3FF) - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long probes() {
+        return probes.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    private int slot(long key) {
+        long h = key ^ (key >>> 29);
+        return ((int) h & mask) << 1;
+    }
+}
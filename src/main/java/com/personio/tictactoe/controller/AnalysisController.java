@@ -0,0 +1,39 @@
+package com.personio.tictactoe.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.personio.tictactoe.service.AnalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/analysis")
+@RequiredArgsConstructor
+public class AnalysisController {
+
+    private final AnalysisService analysis;
+
+    /**
+     * Reads the boards and writes the results incrementally; results come back in request order. Both run on
+     * one of {@link AnalysisService}'s own coordinator threads, for up to {@code timeout-ms}.
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> analyzeBatch(InputStream body) throws IOException {
+        JsonParser boards = analysis.open(body);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(analysis.timeoutMillis());
+
+        analysis.start(boards, new EmitterOutputStream(emitter, MediaType.APPLICATION_JSON)).whenComplete((done, error) -> {
+            if (error == null) emitter.complete();
+            else emitter.completeWithError(error instanceof CompletionException c ? c.getCause() : error);
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(emitter);
+    }
+}
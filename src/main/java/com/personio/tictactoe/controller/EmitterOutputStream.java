@@ -0,0 +1,52 @@
+package com.personio.tictactoe.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Lets a service that writes to an {@link OutputStream} stream through a {@link ResponseBodyEmitter}, so the
+ * write runs on whichever thread the service picks rather than on the MVC async executor. Bytes are sent on
+ * each flush and whenever {@value #CHUNK} have piled up.
+ */
+final class EmitterOutputStream extends OutputStream {
+
+    private static final int CHUNK = 8192;
+
+    private final ResponseBodyEmitter emitter;
+    private final MediaType mediaType;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(CHUNK);
+
+    EmitterOutputStream(ResponseBodyEmitter emitter, MediaType mediaType) {
+        this.emitter = emitter;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        buffer.write(b);
+        if (buffer.size() >= CHUNK) flush();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        buffer.write(b, off, len);
+        if (buffer.size() >= CHUNK) flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.size() == 0) return;
+
+        emitter.send(buffer.toByteArray(), mediaType);
+        buffer.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
@@ -0,0 +1,42 @@
+package com.personio.tictactoe.controller;
+
+import com.personio.tictactoe.service.ExportService;
+import com.personio.tictactoe.service.ExportService.Format;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final ExportService exports;
+
+    /**
+     * Streams finished games; pass the last {@code finishedAt} received as {@code since} to continue. The
+     * stream is written by one of {@link ExportService}'s own threads and may run for {@code timeout-ms}.
+     */
+    @GetMapping("/games")
+    public ResponseEntity<ResponseBodyEmitter> exportGames(@RequestParam(required = false) Instant since,
+                                                           @RequestParam(defaultValue = "NDJSON") Format format) {
+        MediaType mediaType = format == Format.CSV ? CSV : NDJSON;
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(exports.timeoutMillis());
+
+        exports.start(since, format, new EmitterOutputStream(emitter, mediaType)).whenComplete((done, error) -> {
+            if (error == null) emitter.complete();
+            else emitter.completeWithError(error instanceof CompletionException c ? c.getCause() : error);
+        });
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(emitter);
+    }
+}
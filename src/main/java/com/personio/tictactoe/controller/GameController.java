@@ -1,14 +1,24 @@
 package com.personio.tictactoe.controller;
 
 import com.personio.tictactoe.dto.*;
+import com.personio.tictactoe.events.LobbyFeed;
+import com.personio.tictactoe.exception.BadRequestException;
 import com.personio.tictactoe.mapper.GameMapper;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.EngineType;
 import com.personio.tictactoe.service.GameService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("/games")
@@ -17,31 +27,63 @@ public class GameController {
 
     private final GameService gameService;
     private final GameMapper gameMapper;
+    private final LobbyFeed lobby;
+    private final KeysetPages pages;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public GameResponse createGame(@RequestBody @Valid GameCreationRequest request) {
-        return gameMapper.toResponse(gameService.createGame(request.initiatorId()));
+        return gameMapper.toResponse(gameService.createGame(request.initiatorId(), geometry(request)));
     }
 
     @PostMapping("/ai")
     @ResponseStatus(HttpStatus.CREATED)
-    public GameResponse playVsAi(@RequestBody @Valid GameCreationRequest request, @RequestParam(defaultValue = "true") boolean playsFirst) {
-        return gameMapper.toResponse(gameService.createGameVsAi(request.initiatorId(), playsFirst));
+    public GameResponse playVsAi(@RequestBody @Valid GameCreationRequest request, @RequestParam(defaultValue = "true") boolean playsFirst,
+                                 @RequestParam(defaultValue = "MINIMAX") EngineType engine) {
+        return gameMapper.toResponse(gameService.createGameVsAi(request.initiatorId(), playsFirst, geometry(request), engine));
     }
 
+    /**
+     * Runs on the AI pool, off the request thread, so a client that disconnects cancels the AI search; a
+     * full pool queue answers 503 straight away.
+     */
     @PostMapping("/ai/moves")
-    public AiMoveResponse moveVsAi(@RequestBody @Valid AiMoveRequest request) {
-        return gameService.playMoveVsAi(request);
+    public DeferredResult<AiMoveResponse> moveVsAi(@RequestBody @Valid AiMoveRequest request) {
+        DeferredResult<AiMoveResponse> result = new DeferredResult<>();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        result.onError(e -> abandoned.set(true));
+        result.onTimeout(() -> abandoned.set(true));
+
+        gameService.submitMoveVsAi(request, abandoned::get).whenComplete((response, failure) -> {
+            if (failure == null) result.setResult(response);
+            else result.setErrorResult(failure instanceof CompletionException e && e.getCause() != null ? e.getCause() : failure);
+        });
+        return result;
     }
 
+    /** Served from the in-memory lobby; games appear once their creation has committed. */
     @GetMapping("/available")
-    public List<GameResponse> listAvailableGames() {
-        return gameMapper.toResponse(gameService.findAvailableGames());
+    public ResponseEntity<List<GameResponse>> listAvailableGames(@RequestParam(defaultValue = "0") long after,
+                                                                 @RequestParam(required = false) Integer limit) {
+        int size = pages.limit(limit);
+        return pages.page(lobby.openGames(after, size), size, GameResponse::id);
+    }
+
+    @GetMapping(path = "/lobby", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLobby() {
+        return lobby.subscribe();
     }
 
     @PostMapping("/{id}/join")
     public GameResponse join(@PathVariable Long id, @RequestBody JoinGameRequest request) {
         return gameMapper.toResponse(gameService.joinGame(id, request.playerId()));
     }
+
+    private Geometry geometry(GameCreationRequest request) {
+        try {
+            return Geometry.of(request.boardSize(), request.winLength());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
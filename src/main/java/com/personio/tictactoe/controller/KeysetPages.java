@@ -0,0 +1,46 @@
+package com.personio.tictactoe.controller;
+
+import com.personio.tictactoe.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keyset pagination for list endpoints: {@code ?after=<id>&limit=<n>} selects the page, the body stays a
+ * plain JSON array, and a full page carries a {@code Link: <...>; rel="next"} header with the next cursor.
+ */
+@Component
+class KeysetPages {
+
+    private final int maxPageSize;
+
+    KeysetPages(@Value("${tictactoe.pagination.max-page-size:100}") int maxPageSize) {
+        if (maxPageSize < 1)
+            throw new IllegalArgumentException("max-page-size must be positive");
+
+        this.maxPageSize = maxPageSize;
+    }
+
+    /** The page size to use for {@code requested}, which defaults to and may not exceed the maximum. */
+    int limit(Integer requested) {
+        if (requested == null) return maxPageSize;
+        if (requested < 1) throw new BadRequestException("limit must be positive");
+        return Math.min(requested, maxPageSize);
+    }
+
+    <T> ResponseEntity<List<T>> page(List<T> items, int limit, ToLongFunction<T> key) {
+        if (items.size() < limit)
+            return ResponseEntity.ok(items);
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", key.applyAsLong(items.get(items.size() - 1)))
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return ResponseEntity.ok().header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"").body(items);
+    }
+}
@@ -0,0 +1,29 @@
+package com.personio.tictactoe.controller;
+
+import com.personio.tictactoe.dto.LeaderboardEntry;
+import com.personio.tictactoe.exception.NotFoundException;
+import com.personio.tictactoe.stats.Leaderboard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final Leaderboard leaderboard;
+    private final KeysetPages pages;
+
+    @GetMapping
+    public List<LeaderboardEntry> top(@RequestParam(required = false) Integer limit) {
+        return leaderboard.top(pages.limit(limit));
+    }
+
+    @GetMapping("/{playerId}")
+    public LeaderboardEntry rankOf(@PathVariable Long playerId) {
+        return leaderboard.entryOf(playerId)
+                .orElseThrow(() -> new NotFoundException("Player has no finished games"));
+    }
+}
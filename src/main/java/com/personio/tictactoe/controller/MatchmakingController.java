@@ -0,0 +1,71 @@
+package com.personio.tictactoe.controller;
+
+import com.personio.tictactoe.dto.GameResponse;
+import com.personio.tictactoe.dto.MatchmakingRequest;
+import com.personio.tictactoe.exception.BadRequestException;
+import com.personio.tictactoe.mapper.GameMapper;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.service.MatchmakingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/matchmaking")
+@RequiredArgsConstructor
+public class MatchmakingController {
+
+    private static final long MAX_WAIT_MILLIS = 60_000;
+
+    private final MatchmakingService matchmaking;
+    private final GameMapper gameMapper;
+
+    /**
+     * Answers 201 with the new game as soon as the player is paired, without holding a thread while waiting.
+     * After {@code timeout} ms without a partner the player leaves the queue and gets 204, and may ask again.
+     */
+    @PostMapping
+    public DeferredResult<ResponseEntity<GameResponse>> findMatch(@RequestBody @Valid MatchmakingRequest request,
+                                                                  @RequestParam(defaultValue = "30000") long timeout) {
+        MatchmakingService.Ticket ticket = matchmaking.enqueue(request.playerId(), geometry(request));
+
+        DeferredResult<ResponseEntity<GameResponse>> result =
+                new DeferredResult<>(Math.min(Math.max(timeout, 1), MAX_WAIT_MILLIS));
+        ticket.game().whenComplete((game, error) -> {
+            if (error != null) result.setErrorResult(error instanceof CompletionException c ? c.getCause() : error);
+            else result.setResult(toResponse(game));
+        });
+
+        result.onTimeout(() -> {
+            // if a partner claimed the ticket first, the game is being created and is only moments away
+            matchmaking.cancel(ticket);
+            try {
+                result.setResult(toResponse(ticket.game().join()));
+            } catch (CompletionException e) {
+                result.setErrorResult(e.getCause());
+            }
+        });
+        result.onError(e -> matchmaking.cancel(ticket));
+        return result;
+    }
+
+    private ResponseEntity<GameResponse> toResponse(Game game) {
+        return game == null
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CREATED).body(gameMapper.toResponse(game));
+    }
+
+    private Geometry geometry(MatchmakingRequest request) {
+        try {
+            return Geometry.of(request.boardSize(), request.winLength());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
@@ -2,18 +2,28 @@ package com.personio.tictactoe.controller;
 
 import com.personio.tictactoe.dto.PlayMoveRequest;
 import com.personio.tictactoe.dto.PlayMoveResponse;
+import com.personio.tictactoe.events.GameEventHub;
+import com.personio.tictactoe.events.GameUpdated;
 import com.personio.tictactoe.service.MoveService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/games")
 @RequiredArgsConstructor
 public class MoveController {
 
+    private static final long MAX_WAIT_MILLIS = 60_000;
+
     private final MoveService moveService;
+    private final GameEventHub gameEvents;
 
     @PostMapping("{gameId}/moves")
     @ResponseStatus(HttpStatus.OK)
@@ -21,9 +31,64 @@ public class MoveController {
         return moveService.playMove(gameId, request);
     }
 
+    /** The ETag is the game's version; a client that already has it gets a 304 without the board being read. */
     @GetMapping("/{id}")
-    public PlayMoveResponse getGame(@PathVariable Long id) {
-        return moveService.viewGame(id);
+    public ResponseEntity<PlayMoveResponse> getGame(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = moveService.currentVersion(id);
+        if (matches(ifNoneMatch, version))
+            return notModified(version);
+
+        return current(moveService.snapshot(id));
+    }
+
+    /** Long poll: parks without a thread until the game is past {@code waitForVersion}, or answers 304 after {@code timeout} ms. */
+    @GetMapping(path = "/{id}", params = "waitForVersion")
+    public DeferredResult<ResponseEntity<PlayMoveResponse>> awaitGame(@PathVariable Long id,
+                                                                      @RequestParam long waitForVersion,
+                                                                      @RequestParam(defaultValue = "30000") long timeout) {
+        DeferredResult<ResponseEntity<PlayMoveResponse>> result =
+                new DeferredResult<>(Math.min(Math.max(timeout, 1), MAX_WAIT_MILLIS));
+
+        Runnable cancel = gameEvents.awaitUpdate(id, waitForVersion, update -> result.setResult(current(update)));
+        result.onCompletion(cancel);
+        result.onTimeout(() -> result.setResult(notModified(waitForVersion)));
+
+        try {
+            if (moveService.currentVersion(id) > waitForVersion)
+                result.setResult(current(moveService.snapshot(id)));
+        } catch (RuntimeException e) {
+            cancel.run();
+            throw e;
+        }
+        return result;
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGame(@PathVariable Long id) {
+        return gameEvents.subscribe(id, () -> moveService.snapshot(id));
+    }
+
+    private static ResponseEntity<PlayMoveResponse> current(GameUpdated view) {
+        return ResponseEntity.ok().eTag(Long.toString(view.version())).body(view.state());
+    }
+
+    private static ResponseEntity<PlayMoveResponse> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(Long.toString(version)).build();
+    }
+
+    private static boolean matches(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) return false;
+
+        String expected = Long.toString(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*")) return true;
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.length() >= 2 && t.startsWith("\"") && t.endsWith("\"")) t = t.substring(1, t.length() - 1);
+            if (t.equals(expected)) return true;
+        }
+        return false;
     }
 
-}
\ No newline at end of file
+}
@@ -3,11 +3,11 @@ package com.personio.tictactoe.controller;
 import com.personio.tictactoe.dto.PlayerRegistrationRequest;
 import com.personio.tictactoe.dto.PlayerResponse;
 import com.personio.tictactoe.mapper.PlayerMapper;
-import com.personio.tictactoe.model.Player;
 import com.personio.tictactoe.service.PlayerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,6 +19,7 @@ public class PlayerController {
 
     private final PlayerService playerService;
     private final PlayerMapper playerMapper;
+    private final KeysetPages pages;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,9 +28,10 @@ public class PlayerController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<Player> getAllPlayers() {
-        return playerService.getPlayers();
+    public ResponseEntity<List<PlayerResponse>> getAllPlayers(@RequestParam(defaultValue = "0") long after,
+                                                              @RequestParam(required = false) Integer limit) {
+        int size = pages.limit(limit);
+        return pages.page(playerService.getPlayers(after, size), size, PlayerResponse::id);
     }
 
 }
\ No newline at end of file
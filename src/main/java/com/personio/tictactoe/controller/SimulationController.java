@@ -0,0 +1,48 @@
+package com.personio.tictactoe.controller;
+
+import com.personio.tictactoe.dto.SimulationRequest;
+import com.personio.tictactoe.service.SimulationService;
+import com.personio.tictactoe.service.SimulationService.Simulation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequestMapping("/simulations")
+@RequiredArgsConstructor
+public class SimulationController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final SimulationService simulations;
+
+    /**
+     * Streams one JSON line per finished game while the rest are still being played. The seed used is
+     * echoed in {@code X-Simulation-Seed} so a run can be repeated. The stream is driven by one of
+     * {@link SimulationService}'s own coordinator threads, never by a request or shared task thread.
+     */
+    @PostMapping
+    public ResponseEntity<ResponseBodyEmitter> simulate(@RequestBody @Valid SimulationRequest request) {
+        Simulation sim = simulations.plan(request, ThreadLocalRandom.current().nextLong());
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(simulations.timeoutMillis());
+        AtomicBoolean abandoned = new AtomicBoolean();
+        emitter.onError(e -> abandoned.set(true));
+        emitter.onTimeout(() -> abandoned.set(true));
+
+        simulations.start(sim, chunk -> emitter.send(chunk, NDJSON), abandoned::get).whenComplete((done, error) -> {
+            if (error == null) emitter.complete();
+            else emitter.completeWithError(error instanceof CompletionException c ? c.getCause() : error);
+        });
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header("X-Simulation-Seed", Long.toString(sim.seed()))
+                .body(emitter);
+    }
+}
@@ -1,5 +1,6 @@
 package com.personio.tictactoe.dto;
 
+import com.personio.tictactoe.model.Geometry;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -7,6 +8,6 @@ import jakarta.validation.constraints.NotNull;
 public record AiMoveRequest(
         @NotNull Long gameId,
         @NotNull Long playerId,
-        @NotNull @Min(0) @Max(8) Integer movementIndex
+        @NotNull @Min(0) @Max(Geometry.MAX_CELLS - 1) Integer movementIndex
 ) {
 }
\ No newline at end of file
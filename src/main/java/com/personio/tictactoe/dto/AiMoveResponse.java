@@ -9,6 +9,7 @@ public record AiMoveResponse(
         String row1,
         String row2,
         String row3,
+        List<String> rows,
         GameStatus gameStatus,
         String winner,
         int aiMoveIndex
@@ -0,0 +1,15 @@
+package com.personio.tictactoe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result for one board of a batch: the analysis for the side to move, or an {@code error} for a board
+ * that could not be read. {@code scores} is indexed by cell with {@code null} for occupied cells.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BoardAnalysis(String board, Integer bestMove, Integer value, Integer[] scores, String error) {
+
+    public static BoardAnalysis failed(String board, String error) {
+        return new BoardAnalysis(board, null, null, null, error);
+    }
+}
@@ -1,5 +1,17 @@
 package com.personio.tictactoe.dto;
 
+import com.personio.tictactoe.model.Geometry;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
-public record GameCreationRequest(@NotNull Long initiatorId) {}
\ No newline at end of file
+public record GameCreationRequest(
+        @NotNull Long initiatorId,
+        @Min(Geometry.MIN_SIZE) @Max(Geometry.MAX_SIZE) Integer boardSize,
+        @Min(Geometry.MIN_SIZE) @Max(Geometry.MAX_SIZE) Integer winLength
+) {
+
+    public GameCreationRequest(Long initiatorId) {
+        this(initiatorId, null, null);
+    }
+}
\ No newline at end of file
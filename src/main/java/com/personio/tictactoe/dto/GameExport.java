@@ -0,0 +1,20 @@
+package com.personio.tictactoe.dto;
+
+import com.personio.tictactoe.model.enums.EngineType;
+import com.personio.tictactoe.model.enums.GameStatus;
+
+import java.time.Instant;
+
+/** One finished game in an export, with the cells played in the order they were played. */
+public record GameExport(
+        long id,
+        GameStatus gameStatus,
+        Instant createdAt,
+        Instant finishedAt,
+        int boardSize,
+        int winLength,
+        Long initiatorId,
+        Long opponentId,
+        EngineType aiEngine,
+        int[] moves
+) {}
@@ -1,7 +1,9 @@
 package com.personio.tictactoe.dto;
 
+import com.personio.tictactoe.model.enums.EngineType;
 import com.personio.tictactoe.model.enums.GameStatus;
 
 import java.util.Date;
 
-public record GameResponse(Long id, GameStatus status, Date creationDate, Long initiatorId, Long opponentId) {}
\ No newline at end of file
+public record GameResponse(Long id, GameStatus status, Date creationDate, Long initiatorId, Long opponentId,
+                           Integer boardSize, Integer winLength, EngineType aiEngine) {}
\ No newline at end of file
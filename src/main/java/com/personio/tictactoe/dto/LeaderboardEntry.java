@@ -0,0 +1,4 @@
+package com.personio.tictactoe.dto;
+
+public record LeaderboardEntry(int rank, Long playerId, String name, int rating, int totalGames, int wins, int loss,
+                               int draws) {}
@@ -0,0 +1,17 @@
+package com.personio.tictactoe.dto;
+
+import com.personio.tictactoe.model.Geometry;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record MatchmakingRequest(
+        @NotNull Long playerId,
+        @Min(Geometry.MIN_SIZE) @Max(Geometry.MAX_SIZE) Integer boardSize,
+        @Min(Geometry.MIN_SIZE) @Max(Geometry.MAX_SIZE) Integer winLength
+) {
+
+    public MatchmakingRequest(Long playerId) {
+        this(playerId, null, null);
+    }
+}
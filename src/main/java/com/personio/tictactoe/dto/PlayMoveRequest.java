@@ -1,5 +1,6 @@
 package com.personio.tictactoe.dto;
 
+import com.personio.tictactoe.model.Geometry;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,6 @@ public class PlayMoveRequest {
     private Long playerId;
 
     @Min(0)
-    @Max(8)
+    @Max(Geometry.MAX_CELLS - 1)
     private Integer movementIndex;
 }
\ No newline at end of file
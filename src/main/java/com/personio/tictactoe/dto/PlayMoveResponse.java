@@ -1,5 +1,7 @@
 package com.personio.tictactoe.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.personio.tictactoe.model.GameBoard;
 import com.personio.tictactoe.model.enums.GameStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,7 +18,12 @@ public class PlayMoveResponse {
     private String row2;
     private String row3;
 
+    private List<String> rows;
+
     private GameStatus gameStatus;
 
     private String winner;
+
+    @JsonIgnore
+    private GameBoard position;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.personio.tictactoe.dto;
+
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.EngineType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * AI-vs-AI games to play. Each game opens with {@code randomOpenings} uniformly random plies, then the
+ * engines take over; {@code nodesPerMove} caps each engine search. The same seed replays the same games
+ * as long as the engines are deterministic for a seed.
+ */
+public record SimulationRequest(
+        @NotNull @Min(1) Long games,
+        @Min(Geometry.MIN_SIZE) @Max(Geometry.MAX_SIZE) Integer boardSize,
+        @Min(Geometry.MIN_SIZE) @Max(Geometry.MAX_SIZE) Integer winLength,
+        EngineType xEngine,
+        EngineType oEngine,
+        @Min(0) Integer randomOpenings,
+        @Min(1) Long nodesPerMove,
+        Long seed,
+        boolean persist
+) {}
@@ -0,0 +1,6 @@
+package com.personio.tictactoe.dto;
+
+import com.personio.tictactoe.model.enums.GameStatus;
+
+/** One finished simulated game: its index in the run, how it ended and the cells played, in order. */
+public record SimulationResult(long game, GameStatus result, int[] moves) {}
@@ -0,0 +1,185 @@
+package com.personio.tictactoe.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed game updates to Server-Sent Event subscribers and wakes parked long-poll requests.
+ * Streams and long polls are asynchronous requests, so while they wait they hold no request thread; a
+ * single dispatcher thread serializes each update once and writes the same bytes to every subscriber of
+ * the game. Every event carries the game's version as its id, and a game's subscribers never see ids go
+ * backwards.
+ */
+@Component
+public class GameEventHub {
+
+    private final ObjectMapper mapper;
+    private final long timeoutMillis;
+    private final ScheduledThreadPoolExecutor dispatcher;
+    private final Map<Long, Subscribers> games = new ConcurrentHashMap<>();
+
+    public GameEventHub(ObjectMapper mapper,
+                        @Value("${tictactoe.events.timeout-ms:1800000}") long timeoutMillis,
+                        @Value("${tictactoe.events.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.mapper = mapper;
+        this.timeoutMillis = timeoutMillis;
+        this.dispatcher = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "game-events");
+            t.setDaemon(true);
+            return t;
+        });
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        games.values().forEach(s -> s.emitters.forEach(ResponseBodyEmitter::complete));
+    }
+
+    /** Opens a stream that starts with the game as {@code snapshot} returns it once the subscription is live. */
+    public SseEmitter subscribe(Long gameId, Supplier<GameUpdated> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(gameId, s -> s.emitters.add(emitter));
+
+        Runnable remove = () -> release(gameId, s -> s.emitters.remove(emitter));
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // taken after registering, so a move committed meanwhile is sent as an event rather than lost
+        GameUpdated state;
+        try {
+            state = snapshot.get();
+        } catch (RuntimeException e) {
+            remove.run();
+            throw e;
+        }
+
+        try {
+            emitter.send(event("game", state));
+            if (isFinished(state)) emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Calls {@code listener} once, on the dispatcher thread, with the first committed update past
+     * {@code afterVersion}. The returned handle cancels the wait. Callers register before reading the
+     * current version so that no update can slip in between.
+     */
+    public Runnable awaitUpdate(Long gameId, long afterVersion, Consumer<GameUpdated> listener) {
+        Waiter waiter = new Waiter(afterVersion, listener);
+        register(gameId, s -> s.waiters.add(waiter));
+        return () -> release(gameId, s -> s.waiters.remove(waiter));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdated update) {
+        if (!games.containsKey(update.gameId())) return;
+        dispatcher.execute(() -> deliver(update));
+    }
+
+    public int subscriberCount() {
+        return games.values().stream().mapToInt(s -> s.emitters.size() + s.waiters.size()).sum();
+    }
+
+    private void deliver(GameUpdated update) {
+        Subscribers subscribers = games.get(update.gameId());
+        if (subscribers == null || update.version() <= subscribers.lastVersion) return;
+        subscribers.lastVersion = update.version();
+
+        for (Waiter waiter : subscribers.waiters) {
+            if (waiter.afterVersion < update.version() && subscribers.waiters.remove(waiter))
+                waiter.listener.accept(update);
+        }
+        release(update.gameId(), s -> { });
+
+        if (subscribers.emitters.isEmpty()) return;
+
+        Set<ResponseBodyEmitter.DataWithMediaType> event = event("update", update);
+        boolean finished = isFinished(update);
+        for (SseEmitter emitter : subscribers.emitters) {
+            try {
+                emitter.send(event);
+                if (finished) emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscribers subscribers : games.values()) {
+            for (SseEmitter emitter : subscribers.emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    // registering and releasing go through the map's per-key lock so an entry is never dropped while joined
+    private void register(Long gameId, Consumer<Subscribers> addition) {
+        games.compute(gameId, (id, subscribers) -> {
+            Subscribers s = subscribers == null ? new Subscribers() : subscribers;
+            addition.accept(s);
+            return s;
+        });
+    }
+
+    private void release(Long gameId, Consumer<Subscribers> removal) {
+        games.computeIfPresent(gameId, (id, subscribers) -> {
+            removal.accept(subscribers);
+            return subscribers.emitters.isEmpty() && subscribers.waiters.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(String name, GameUpdated update) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(update.version()))
+                    .name(name)
+                    .data(mapper.writeValueAsString(update.state()), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize game state", e);
+        }
+    }
+
+    private static boolean isFinished(GameUpdated update) {
+        return update.state().getGameStatus().isFinished();
+    }
+
+    private record Waiter(long afterVersion, Consumer<GameUpdated> listener) {
+    }
+
+    private static final class Subscribers {
+        final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+        // only touched by the dispatcher thread
+        long lastVersion = -1;
+    }
+}
@@ -0,0 +1,8 @@
+package com.personio.tictactoe.events;
+
+import com.personio.tictactoe.model.enums.GameStatus;
+
+/** Published by {@code MoveService} for the move that ends a game in {@code result}. */
+public record GameFinished(Long gameId, Long initiatorId, String initiatorName, Long opponentId, String opponentName,
+                           GameStatus result) {
+}
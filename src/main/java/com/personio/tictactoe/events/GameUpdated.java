@@ -0,0 +1,10 @@
+package com.personio.tictactoe.events;
+
+import com.personio.tictactoe.dto.PlayMoveResponse;
+
+/**
+ * A game's state at one {@code version}. {@code MoveService} publishes one for every accepted move and
+ * {@code GameService} one when an opponent joins; subscribers get them once they have committed.
+ */
+public record GameUpdated(Long gameId, long version, PlayMoveResponse state) {
+}
@@ -0,0 +1,13 @@
+package com.personio.tictactoe.events;
+
+import com.personio.tictactoe.model.Game;
+
+/** Published by {@code GameService} when a game starts or stops waiting for an opponent. */
+public sealed interface LobbyChange {
+
+    record Opened(Game game) implements LobbyChange {
+    }
+
+    record Closed(Long gameId) implements LobbyChange {
+    }
+}
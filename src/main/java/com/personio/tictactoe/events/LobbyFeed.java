@@ -0,0 +1,165 @@
+package com.personio.tictactoe.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameResponse;
+import com.personio.tictactoe.mapper.GameMapper;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.repository.GameRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of the games waiting for an opponent, kept current from committed {@link LobbyChange}s,
+ * and a Server-Sent Event feed of it: a {@code snapshot} of every open game, then {@code added} and
+ * {@code removed} deltas. A single dispatcher thread applies every change and serves every new subscriber,
+ * so a subscriber's snapshot and the deltas after it never overlap or leave a gap. Each event's id is the
+ * lobby's change count. Like the other in-memory views, it assumes one application instance.
+ */
+@Slf4j
+@Component
+public class LobbyFeed {
+
+    private final GameRepository gameRepository;
+    private final GameMapper gameMapper;
+    private final ObjectMapper mapper;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final ScheduledThreadPoolExecutor dispatcher;
+
+    private static final int LOAD_BATCH = 1000;
+
+    private final ConcurrentNavigableMap<Long, GameResponse> open = new ConcurrentSkipListMap<>();
+    private final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // only touched by the dispatcher thread
+    private long sequence;
+    private Set<ResponseBodyEmitter.DataWithMediaType> snapshot;
+
+    public LobbyFeed(GameRepository gameRepository,
+                     GameMapper gameMapper,
+                     ObjectMapper mapper,
+                     @Value("${tictactoe.events.timeout-ms:1800000}") long timeoutMillis,
+                     @Value("${tictactoe.events.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.gameRepository = gameRepository;
+        this.gameMapper = gameMapper;
+        this.mapper = mapper;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.dispatcher = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "lobby-feed");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void load() {
+        List<GameResponse> page;
+        long after = 0;
+        do {
+            page = gameRepository.findPageByStatusAfter(GameStatus.WAITING_FOR_OPPONENT, after, Limit.of(LOAD_BATCH));
+            for (GameResponse game : page) open.put(game.id(), game);
+            if (!page.isEmpty()) after = page.get(page.size() - 1).id();
+        } while (page.size() == LOAD_BATCH);
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        log.info("Loaded {} open games into the lobby", open.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        emitters.forEach(ResponseBodyEmitter::complete);
+    }
+
+    /** Up to {@code limit} open games with ids above {@code afterId}, oldest first, without touching the database. */
+    public List<GameResponse> openGames(long afterId, int limit) {
+        return open.tailMap(afterId, false).values().stream().limit(limit).toList();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        dispatcher.execute(() -> {
+            if (snapshot == null) snapshot = event("snapshot", open.values());
+            if (send(emitter, snapshot)) emitters.add(emitter);
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyChange(LobbyChange change) {
+        // mapped here, on the committing thread, while the game's associations are still at hand
+        if (change instanceof LobbyChange.Opened opened) {
+            GameResponse game = gameMapper.toResponse(opened.game());
+            dispatcher.execute(() -> {
+                open.put(game.id(), game);
+                broadcast(event("added", game));
+            });
+        } else if (change instanceof LobbyChange.Closed closed) {
+            dispatcher.execute(() -> {
+                if (open.remove(closed.gameId()) != null)
+                    broadcast(event("removed", Map.of("id", closed.gameId())));
+            });
+        }
+    }
+
+    private void broadcast(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        snapshot = null;
+        for (SseEmitter emitter : emitters)
+            if (!send(emitter, event)) emitters.remove(emitter);
+    }
+
+    private void heartbeat() {
+        for (SseEmitter emitter : emitters)
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+    }
+
+    private static boolean send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(String name, Object data) {
+        if (!name.equals("snapshot")) sequence++;
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(sequence))
+                    .name(name)
+                    .data(mapper.writeValueAsString(data), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize lobby event", e);
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.personio.tictactoe.exception;
 
+import lombok.Getter;
+
+@Getter
 public class PlayerAlreadyInGameException extends RuntimeException {
+
+    private final Long playerId;
+
     public PlayerAlreadyInGameException(Long playerId) {
         super("Player " + playerId + " is already participating in an active game");
+        this.playerId = playerId;
     }
 }
\ No newline at end of file
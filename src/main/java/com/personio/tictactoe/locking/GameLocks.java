@@ -0,0 +1,154 @@
+package com.personio.tictactoe.locking;
+
+import com.personio.tictactoe.exception.ConflictException;
+import com.personio.tictactoe.exception.NotFoundException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a command against one game with exclusive access to it, in its own transaction. {@code PESSIMISTIC}
+ * takes a row lock with {@code SELECT ... FOR UPDATE}; {@code OPTIMISTIC} reads without a lock and lets the
+ * {@code @Version} check on commit detect a concurrent writer, retrying with jittered backoff; {@code MAILBOX}
+ * queues the command on the game's {@link GameMailboxes} lane, which needs no database lock but assumes a
+ * single application instance.
+ * <p>
+ * A command that loses a race, whether on the version check or on a unique constraint, surfaces as a
+ * {@link ConflictException} once it can no longer be retried, never as a half-applied move.
+ */
+@Component
+public class GameLocks {
+
+    public enum Strategy {
+        PESSIMISTIC,
+        OPTIMISTIC,
+        MAILBOX
+    }
+
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    private final Strategy strategy;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final GameRepository gameRepository;
+    private final TransactionTemplate transaction;
+    private final GameMailboxes mailboxes;
+    private final Timer lockWait;
+    private final Counter retries;
+
+    public GameLocks(@Value("${tictactoe.locking.strategy:PESSIMISTIC}") Strategy strategy,
+                     @Value("${tictactoe.locking.mailbox-lanes:0}") int mailboxLanes,
+                     @Value("${tictactoe.locking.max-attempts:5}") int maxAttempts,
+                     @Value("${tictactoe.locking.backoff-ms:2}") long backoffMillis,
+                     GameRepository gameRepository,
+                     TransactionTemplate transaction,
+                     MeterRegistry meters) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("max-attempts must be positive");
+
+        this.strategy = strategy;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = Math.max(1, backoffMillis);
+        this.gameRepository = gameRepository;
+        this.transaction = transaction;
+        this.retries = Counter.builder("tictactoe.moves.lock.retries")
+                .description("Game commands retried after losing a race")
+                .register(meters);
+
+        int lanes = mailboxLanes > 0 ? mailboxLanes : Runtime.getRuntime().availableProcessors();
+        this.mailboxes = strategy == Strategy.MAILBOX ? new GameMailboxes(lanes, meters) : null;
+        this.lockWait = strategy == Strategy.MAILBOX ? null : Timer.builder("tictactoe.moves.lock.wait")
+                .description("Time a game command waits before it may run")
+                .tag("strategy", strategy.name().toLowerCase(Locale.ROOT))
+                .register(meters);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (mailboxes != null) mailboxes.shutdown();
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public <T> T withGame(Long gameId, Function<Game, T> command) {
+        return switch (strategy) {
+            case PESSIMISTIC -> once(() -> transaction.execute(tx -> command.apply(lock(gameId))));
+            case OPTIMISTIC -> withRetries(gameId, command);
+            case MAILBOX -> mailboxes.submit(gameId, () -> once(() -> transaction.execute(tx -> command.apply(find(gameId)))));
+        };
+    }
+
+    private <T> T withRetries(Long gameId, Function<Game, T> command) {
+        // inside a caller's transaction a failed attempt has already doomed it, so there is nothing to retry
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        long start = System.nanoTime();
+
+        for (int attempt = 1; ; attempt++) {
+            long attemptStart = System.nanoTime();
+            try {
+                T result = transaction.execute(tx -> command.apply(find(gameId)));
+                lockWait.record(attemptStart - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (!retryable || attempt >= maxAttempts)
+                    throw busy(e);
+            }
+            retries.increment();
+            backOff(attempt);
+        }
+    }
+
+    private <T> T once(Supplier<T> command) {
+        try {
+            return command.get();
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            throw busy(e);
+        }
+    }
+
+    /** Full jitter: a random pause up to an exponentially growing bound. */
+    private void backOff(int attempt) {
+        long bound = Math.min(MAX_BACKOFF_MILLIS, backoffMillis << Math.min(attempt - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a game command", e);
+        }
+    }
+
+    private static ConflictException busy(DataAccessException cause) {
+        ConflictException conflict = new ConflictException("Game was changed concurrently, please retry");
+        conflict.initCause(cause);
+        return conflict;
+    }
+
+    private Game lock(Long gameId) {
+        long start = System.nanoTime();
+        Game game = gameRepository.findByIdForUpdate(gameId).orElseThrow(() -> new NotFoundException("Game not found"));
+        lockWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return game;
+    }
+
+    private Game find(Long gameId) {
+        return gameRepository.findById(gameId).orElseThrow(() -> new NotFoundException("Game not found"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.personio.tictactoe.locking;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of single-threaded lanes. Every command for a game runs on the lane its id hashes to, so
+ * commands for one game execute one at a time in submission order while other games proceed in parallel.
+ */
+public final class GameMailboxes {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final Thread[] laneThreads;
+    private final Timer waitTimer;
+
+    public GameMailboxes(int laneCount, MeterRegistry meters) {
+        if (laneCount < 1)
+            throw new IllegalArgumentException("at least one lane is required");
+
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        this.laneThreads = new Thread[laneCount];
+        this.waitTimer = Timer.builder("tictactoe.moves.lock.wait")
+                .description("Time a game command waits before it may run")
+                .tag("strategy", "mailbox")
+                .register(meters);
+
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "game-mailbox-" + lane);
+                t.setDaemon(true);
+                laneThreads[lane] = t;
+                return t;
+            });
+            lanes[i].prestartCoreThread();
+            Gauge.builder("tictactoe.mailbox.queue.depth", lanes[i], e -> e.getQueue().size())
+                    .description("Commands waiting in one mailbox lane")
+                    .tag("lane", Integer.toString(lane))
+                    .register(meters);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) lane.shutdown();
+    }
+
+    /** Runs {@code command} on the game's lane and waits for it; exceptions are rethrown unchanged. */
+    public <T> T submit(long gameId, Supplier<T> command) {
+        int lane = laneOf(gameId);
+
+        // a command already running on this lane would deadlock waiting for itself
+        if (Thread.currentThread() == laneThreads[lane])
+            return command.get();
+
+        long submitted = System.nanoTime();
+        Future<T> result = lanes[lane].submit(() -> {
+            waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            return command.get();
+        });
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for game %d".formatted(gameId), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int lanes() {
+        return lanes.length;
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor lane : lanes) depth += lane.getQueue().size();
+        return depth;
+    }
+
+    private int laneOf(long gameId) {
+        long h = gameId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) lanes.length);
+    }
+}
@@ -0,0 +1,119 @@
+package com.personio.tictactoe.model;
+
+import com.personio.tictactoe.model.enums.Movement;
+
+/**
+ * Immutable 3x3 board held as two 9-bit masks, bit {@code i} standing for cell {@code i}.
+ */
+public record Board(int x, int o) implements GameBoard {
+
+    public static final int CELLS = 9;
+    public static final int FULL = 0x1FF;
+    public static final Board EMPTY = new Board(0, 0);
+
+    private static final int[] WIN_MASKS = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    private static final boolean[] WINNING = new boolean[FULL + 1];
+
+    static {
+        for (int mask = 0; mask <= FULL; mask++)
+            for (int line : WIN_MASKS)
+                if ((mask & line) == line) WINNING[mask] = true;
+    }
+
+    public Board {
+        if ((x & ~FULL) != 0 || (o & ~FULL) != 0 || (x & o) != 0)
+            throw new IllegalArgumentException("invalid board masks");
+    }
+
+    /** Parses a 9-char board using {@code X}, {@code O} and {@code _} for empty cells. */
+    public static Board parse(String cells) {
+        if (cells == null || cells.length() != CELLS)
+            throw new IllegalArgumentException("board must be 9 chars");
+
+        int x = 0;
+        int o = 0;
+        for (int i = 0; i < CELLS; i++) {
+            char c = cells.charAt(i);
+            if (c == 'X') x |= 1 << i;
+            else if (c == 'O') o |= 1 << i;
+        }
+        return new Board(x, o);
+    }
+
+    @Override
+    public Geometry geometry() {
+        return Geometry.CLASSIC;
+    }
+
+    @Override
+    public Movement at(int cell) {
+        int bit = 1 << cell;
+        if ((x & bit) != 0) return Movement.X;
+        if ((o & bit) != 0) return Movement.O;
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty(int cell) {
+        return ((x | o) & (1 << cell)) == 0;
+    }
+
+    public int occupied() {
+        return x | o;
+    }
+
+    public int mask(Movement movement) {
+        return movement == Movement.X ? x : o;
+    }
+
+    @Override
+    public Board with(int cell, Movement movement) {
+        int bit = 1 << cell;
+        return movement == Movement.X ? new Board(x | bit, o) : new Board(x, o | bit);
+    }
+
+    public boolean hasLine(Movement movement) {
+        return hasLine(mask(movement));
+    }
+
+    @Override
+    public Movement winner() {
+        if (hasLine(x)) return Movement.X;
+        if (hasLine(o)) return Movement.O;
+        return null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return (x | o) == FULL;
+    }
+
+    @Override
+    public boolean isDraw() {
+        return isFull() && !hasLine(x) && !hasLine(o);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return isFull() || hasLine(x) || hasLine(o);
+    }
+
+    @Override
+    public int count(Movement movement) {
+        return Integer.bitCount(mask(movement));
+    }
+
+    @Override
+    public Movement toMove() {
+        return Integer.bitCount(x) == Integer.bitCount(o) ? Movement.X : Movement.O;
+    }
+
+    public static boolean hasLine(int mask) {
+        return WINNING[mask];
+    }
+}
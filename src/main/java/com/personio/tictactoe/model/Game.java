@@ -1,5 +1,6 @@
 package com.personio.tictactoe.model;
 
+import com.personio.tictactoe.model.enums.EngineType;
 import com.personio.tictactoe.model.enums.GameStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -11,7 +12,10 @@ import java.util.Date;
 @Entity
 @Getter
 @Setter
-@Table(name = "games", uniqueConstraints = @UniqueConstraint(name = "uk_game_opponent_id", columnNames = {"opponent_id"}))
+@Table(name = "games",
+        uniqueConstraints = @UniqueConstraint(name = "uk_game_opponent_id", columnNames = {"opponent_id"}),
+        indexes = @Index(name = "idx_game_finished_at", columnList = "finishedAt")
+)
 @Accessors(chain = true)
 public class Game {
 
@@ -26,12 +30,77 @@ public class Game {
     @Column
     private Date creationDate = new Date();
 
+    /** When the game reached a final status; the watermark of incremental exports. */
+    @Column
+    private Date finishedAt;
+
     @ManyToOne(optional = false)
     private Player initiator;
 
     @ManyToOne
     private Player opponent;
 
+    @Column(nullable = false)
+    private Integer boardSize = Geometry.CLASSIC.size();
+
+    @Column(nullable = false)
+    private Integer winLength = Geometry.CLASSIC.winLength();
+
+    @Enumerated(EnumType.STRING)
+    private EngineType aiEngine;
+
+    /** Current position as {@link GameBoard#pack()}, written together with each move. */
+    @Column(length = GameBoard.MAX_PACKED_BYTES)
+    private byte[] packedBoard;
+
+    /** Cells played, in order, one unsigned byte each; set once the game's move rows have been archived. */
+    @Column(length = Geometry.MAX_CELLS)
+    private byte[] packedMoves;
+
     @Version
     private Long version;
-}
\ No newline at end of file
+
+    public Geometry getGeometry() {
+        return new Geometry(boardSize, winLength);
+    }
+
+    public Game setGeometry(Geometry geometry) {
+        this.boardSize = geometry.size();
+        this.winLength = geometry.winLength();
+        return this;
+    }
+
+    /** The current position, or {@code null} for games stored before the board was kept on the game. */
+    public GameBoard getBoard() {
+        return packedBoard == null ? null : GameBoard.unpack(getGeometry(), packedBoard);
+    }
+
+    public Game setBoard(GameBoard board) {
+        this.packedBoard = board.pack();
+        return this;
+    }
+
+    /** The archived move sequence, or {@code null} while the moves are still stored as rows. */
+    public int[] getArchivedMoves() {
+        return packedMoves == null ? null : unpackMoves(packedMoves);
+    }
+
+    public static byte[] packMoves(int[] cells) {
+        byte[] packed = new byte[cells.length];
+        for (int i = 0; i < cells.length; i++) packed[i] = (byte) cells[i];
+        return packed;
+    }
+
+    public static int[] unpackMoves(byte[] packed) {
+        int[] cells = new int[packed.length];
+        for (int i = 0; i < cells.length; i++) cells[i] = packed[i] & 0xFF;
+        return cells;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stampFinish() {
+        if (finishedAt == null && gameStatus.isFinished())
+            finishedAt = new Date();
+    }
+}
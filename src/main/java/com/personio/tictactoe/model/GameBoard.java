@@ -0,0 +1,91 @@
+package com.personio.tictactoe.model;
+
+import com.personio.tictactoe.model.enums.Movement;
+
+/**
+ * Immutable board state. Classic 3x3 games use the {@link Board} bitboard, larger geometries {@link GridBoard}.
+ */
+public interface GameBoard {
+
+    /** Size of {@link #pack()} for the largest geometry: two bits per cell. */
+    int MAX_PACKED_BYTES = (Geometry.MAX_CELLS + 3) / 4;
+
+    static GameBoard empty(Geometry geometry) {
+        return geometry.isClassic() ? Board.EMPTY : GridBoard.empty(geometry);
+    }
+
+    /** Parses one char per cell using {@code X}, {@code O} and {@code _} for empty cells. */
+    static GameBoard parse(Geometry geometry, String cells) {
+        return geometry.isClassic() ? Board.parse(cells) : GridBoard.parse(geometry, cells);
+    }
+
+    /** Inverse of {@link #pack()}. */
+    static GameBoard unpack(Geometry geometry, byte[] packed) {
+        if (packed.length != (geometry.cells() + 3) / 4)
+            throw new IllegalArgumentException("packed board does not match a %dx%d geometry".formatted(geometry.size(), geometry.size()));
+
+        char[] cells = new char[geometry.cells()];
+        for (int i = 0; i < cells.length; i++) {
+            int code = (packed[i >>> 2] >>> ((i & 3) << 1)) & 0x3;
+            cells[i] = code == 1 ? 'X' : code == 2 ? 'O' : '_';
+        }
+        return parse(geometry, new String(cells));
+    }
+
+    /** Position after playing {@code cells} in order, X first. */
+    static GameBoard replay(Geometry geometry, int[] cells) {
+        GameBoard board = empty(geometry);
+        for (int i = 0; i < cells.length; i++)
+            board = board.with(cells[i], i % 2 == 0 ? Movement.X : Movement.O);
+        return board;
+    }
+
+    Geometry geometry();
+
+    Movement at(int cell);
+
+    boolean isEmpty(int cell);
+
+    GameBoard with(int cell, Movement movement);
+
+    /** The side holding a winning line, or {@code null}. */
+    Movement winner();
+
+    boolean isFull();
+
+    default boolean isDraw() {
+        return isFull() && winner() == null;
+    }
+
+    default boolean isFinished() {
+        return isFull() || winner() != null;
+    }
+
+    int count(Movement movement);
+
+    /** Side to move assuming X opened: X when both sides have played equally often. */
+    default Movement toMove() {
+        return count(Movement.X) == count(Movement.O) ? Movement.X : Movement.O;
+    }
+
+    /** Two bits per cell, four cells per byte: 0 empty, 1 X, 2 O. */
+    default byte[] pack() {
+        int cells = geometry().cells();
+        byte[] packed = new byte[(cells + 3) / 4];
+        for (int i = 0; i < cells; i++) {
+            Movement m = at(i);
+            if (m != null) packed[i >>> 2] |= (byte) ((m.ordinal() + 1) << ((i & 3) << 1));
+        }
+        return packed;
+    }
+
+    default String encode() {
+        int cells = geometry().cells();
+        char[] out = new char[cells];
+        for (int i = 0; i < cells; i++) {
+            Movement m = at(i);
+            out[i] = m == null ? '_' : m.name().charAt(0);
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,69 @@
+package com.personio.tictactoe.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Board shape: an {@code size x size} grid won by {@code winLength} marks in a row, column or diagonal.
+ */
+public record Geometry(int size, int winLength) {
+
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 15;
+    public static final int MAX_CELLS = MAX_SIZE * MAX_SIZE;
+
+    public static final Geometry CLASSIC = new Geometry(3, 3);
+
+    private static final Map<Geometry, int[][]> LINES = new ConcurrentHashMap<>();
+
+    public Geometry {
+        if (size < MIN_SIZE || size > MAX_SIZE)
+            throw new IllegalArgumentException("board size must be between %d and %d".formatted(MIN_SIZE, MAX_SIZE));
+
+        if (winLength < MIN_SIZE || winLength > size)
+            throw new IllegalArgumentException("win length must be between %d and the board size".formatted(MIN_SIZE));
+    }
+
+    public static Geometry of(Integer size, Integer winLength) {
+        int n = size == null ? CLASSIC.size() : size;
+        return new Geometry(n, winLength == null ? Math.min(n, 5) : winLength);
+    }
+
+    public int cells() {
+        return size * size;
+    }
+
+    public boolean isClassic() {
+        return equals(CLASSIC);
+    }
+
+    /** Every winning segment as the ordered cell indices it covers; shared, do not modify. */
+    public int[][] lines() {
+        return LINES.computeIfAbsent(this, Geometry::computeLines);
+    }
+
+    private static int[][] computeLines(Geometry g) {
+        int n = g.size();
+        int k = g.winLength();
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        List<int[]> lines = new ArrayList<>();
+
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                for (int[] d : directions) {
+                    int endRow = row + d[0] * (k - 1);
+                    int endCol = col + d[1] * (k - 1);
+                    if (endRow >= n || endCol < 0 || endCol >= n) continue;
+
+                    int[] line = new int[k];
+                    for (int i = 0; i < k; i++)
+                        line[i] = (row + d[0] * i) * n + col + d[1] * i;
+                    lines.add(line);
+                }
+            }
+        }
+        return lines.toArray(int[][]::new);
+    }
+}
@@ -0,0 +1,120 @@
+package com.personio.tictactoe.model;
+
+import com.personio.tictactoe.model.enums.Movement;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable bitboard for any {@link Geometry}: one bit per cell for each side, packed into longs.
+ */
+public final class GridBoard implements GameBoard {
+
+    private final Geometry geometry;
+    private final long[] x;
+    private final long[] o;
+
+    private GridBoard(Geometry geometry, long[] x, long[] o) {
+        this.geometry = geometry;
+        this.x = x;
+        this.o = o;
+    }
+
+    public static GridBoard empty(Geometry geometry) {
+        int words = (geometry.cells() + 63) >>> 6;
+        return new GridBoard(geometry, new long[words], new long[words]);
+    }
+
+    public static GridBoard parse(Geometry geometry, String cells) {
+        if (cells == null || cells.length() != geometry.cells())
+            throw new IllegalArgumentException("board must be %d chars".formatted(geometry.cells()));
+
+        GridBoard board = empty(geometry);
+        for (int i = 0; i < cells.length(); i++) {
+            char c = cells.charAt(i);
+            if (c == 'X') set(board.x, i);
+            else if (c == 'O') set(board.o, i);
+        }
+        return board;
+    }
+
+    @Override
+    public Geometry geometry() {
+        return geometry;
+    }
+
+    @Override
+    public Movement at(int cell) {
+        if (test(x, cell)) return Movement.X;
+        if (test(o, cell)) return Movement.O;
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty(int cell) {
+        return !test(x, cell) && !test(o, cell);
+    }
+
+    @Override
+    public GridBoard with(int cell, Movement movement) {
+        long[] nx = x;
+        long[] no = o;
+        if (movement == Movement.X) set(nx = x.clone(), cell);
+        else set(no = o.clone(), cell);
+        return new GridBoard(geometry, nx, no);
+    }
+
+    @Override
+    public Movement winner() {
+        for (int[] line : geometry.lines()) {
+            if (covers(x, line)) return Movement.X;
+            if (covers(o, line)) return Movement.O;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return count(Movement.X) + count(Movement.O) == geometry.cells();
+    }
+
+    @Override
+    public int count(Movement movement) {
+        int total = 0;
+        for (long word : movement == Movement.X ? x : o)
+            total += Long.bitCount(word);
+        return total;
+    }
+
+    private static boolean covers(long[] mask, int[] line) {
+        for (int cell : line)
+            if (!test(mask, cell)) return false;
+        return true;
+    }
+
+    private static boolean test(long[] mask, int cell) {
+        return (mask[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void set(long[] mask, int cell) {
+        mask[cell >>> 6] |= 1L << cell;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof GridBoard that
+                && geometry.equals(that.geometry)
+                && Arrays.equals(x, that.x)
+                && Arrays.equals(o, that.o);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(geometry, Arrays.hashCode(x), Arrays.hashCode(o));
+    }
+
+    @Override
+    public String toString() {
+        return "GridBoard[" + geometry.size() + "x" + geometry.size() + ", " + encode() + "]";
+    }
+}
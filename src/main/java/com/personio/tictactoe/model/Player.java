@@ -6,7 +6,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
-@Table(name = "players")
+@Table(name = "players", uniqueConstraints = @UniqueConstraint(name = "uk_player_name", columnNames = {"name"}))
 @Entity
 @Getter
 @Setter
@@ -0,0 +1,9 @@
+package com.personio.tictactoe.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EngineType {
+    MINIMAX,
+    MCTS
+}
@@ -10,5 +10,9 @@ public enum GameStatus {
     PLAYER_O_TURN,
     X_WON,
     O_WON,
-    DRAW
+    DRAW;
+
+    public boolean isFinished() {
+        return this == X_WON || this == O_WON || this == DRAW;
+    }
 }
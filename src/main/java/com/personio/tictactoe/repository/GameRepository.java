@@ -1,13 +1,17 @@
 package com.personio.tictactoe.repository;
 
+import com.personio.tictactoe.dto.GameResponse;
 import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.enums.EngineType;
 import com.personio.tictactoe.model.enums.GameStatus;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,15 +21,22 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     @Query("select g from Game g where g.id = :id")
     Optional<Game> findByIdForUpdate(@Param("id") Long id);
 
-    List<Game> findAllByGameStatus(GameStatus gameStatus);
+    @Query("select g.version from Game g where g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
+    /** One keyset page of games in {@code status} after {@code afterId}, selecting only the response columns. */
     @Query("""
-            SELECT CASE WHEN COUNT(g) > 0 THEN true ELSE false END
-            FROM Game g
-            WHERE (g.initiator.id = :playerId OR g.opponent.id = :playerId)
-              AND g.gameStatus IN :activeStatuses
+            SELECT new com.personio.tictactoe.dto.GameResponse(g.id, g.gameStatus, g.creationDate, g.initiator.id, o.id,
+                                                               g.boardSize, g.winLength, g.aiEngine)
+            FROM Game g LEFT JOIN g.opponent o
+            WHERE g.gameStatus = :status AND g.id > :afterId
+            ORDER BY g.id
             """)
-    boolean existsActiveGameForPlayer(@Param("playerId") Long playerId,
-                                      @Param("activeStatuses") List<GameStatus> activeStatuses);
+    List<GameResponse> findPageByStatusAfter(@Param("status") GameStatus status, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT g.aiEngine FROM Game g WHERE g.id = :id")
+    Optional<EngineType> findAiEngineById(@Param("id") Long id);
+
+    List<Game> findAllByGameStatusIn(Collection<GameStatus> gameStatuses);
 
 }
\ No newline at end of file
@@ -7,7 +7,5 @@ import java.util.List;
 
 public interface MoveRepository extends JpaRepository<Move, Long> {
 
-    boolean existsByGameIdAndMovementIndex(Long gameId, Integer movementIndex);
-
     List<Move> findByGameId(Long gameId);
 }
\ No newline at end of file
@@ -1,11 +1,35 @@
 package com.personio.tictactoe.repository;
 
+import com.personio.tictactoe.dto.PlayerResponse;
 import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.model.enums.GameStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
 
     Optional<Player> findPlayerByName(String name);
-}
\ No newline at end of file
+
+    /** One keyset page of players after {@code afterId}, selecting only the response columns. */
+    @Query("""
+            SELECT new com.personio.tictactoe.dto.PlayerResponse(p.id, p.name, p.totalGames, p.wins, p.loss, p.draws)
+            FROM Player p
+            WHERE p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<PlayerResponse> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("""
+            SELECT p.id
+            FROM Player p
+            WHERE EXISTS (SELECT g.id FROM Game g
+                          WHERE (g.initiator = p OR g.opponent = p) AND g.gameStatus IN :statuses)
+            """)
+    List<Long> findIdsInGames(@Param("statuses") Collection<GameStatus> statuses);
+}
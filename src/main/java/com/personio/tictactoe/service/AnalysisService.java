@@ -0,0 +1,232 @@
+package com.personio.tictactoe.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.ai.PositionAnalysis;
+import com.personio.tictactoe.ai.PositionAnalyzer;
+import com.personio.tictactoe.dto.BoardAnalysis;
+import com.personio.tictactoe.exception.BadRequestException;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.enums.Movement;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyzes a JSON array of classic boards chunk by chunk, so neither the request nor the response is
+ * ever held whole. Within a batch every position is evaluated once up to symmetry: each chunk's
+ * canonical positions not seen before are split across a pool with one worker per core, and every
+ * board is then answered from the results in its own orientation, in request order. Each batch is read
+ * and written by a coordinator thread of its own, from a small pool, so a huge batch never holds a thread
+ * other requests share.
+ */
+@Service
+public class AnalysisService {
+
+    // below this many new positions in a chunk, handing them to the pool costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final PositionAnalyzer analyzer;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+    private final int workers;
+    private final long timeoutMillis;
+    private final ExecutorService pool;
+    private final ThreadPoolExecutor coordinators;
+
+    public AnalysisService(PositionAnalyzer analyzer,
+                           ObjectMapper mapper,
+                           @Value("${tictactoe.analysis.chunk-size:4096}") int chunkSize,
+                           @Value("${tictactoe.analysis.threads:0}") int threads,
+                           @Value("${tictactoe.analysis.timeout-ms:600000}") long timeoutMillis,
+                           @Value("${tictactoe.analysis.concurrent:2}") int concurrent) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunk size must be positive");
+
+        this.analyzer = analyzer;
+        this.mapper = mapper;
+        this.chunkSize = chunkSize;
+        this.timeoutMillis = timeoutMillis;
+        this.workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "analysis-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // no queue: a batch waiting for a coordinator would spend its client's timeout doing nothing
+        AtomicInteger coordinatorIds = new AtomicInteger();
+        this.coordinators = new ThreadPoolExecutor(concurrent, concurrent, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "analysis-coordinator-" + coordinatorIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /** How long a client may take to send and receive a whole batch. */
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /** Reads up to the opening bracket, so a body that is not an array is rejected before streaming starts. */
+    public JsonParser open(InputStream body) throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(body);
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new BadRequestException("Expected a JSON array of boards");
+        } catch (IOException e) {
+            throw new BadRequestException("Expected a JSON array of boards");
+        }
+        return parser;
+    }
+
+    /**
+     * Runs {@link #analyze} on a coordinator thread and closes {@code out} when done, or refuses with 503 when
+     * {@code tictactoe.analysis.concurrent} batches are already running.
+     */
+    public CompletableFuture<Void> start(JsonParser boards, OutputStream out) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try (out) {
+                    analyze(boards, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, coordinators);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many analysis batches in progress, please retry");
+        }
+    }
+
+    /** Writes one {@link BoardAnalysis} per element left in {@code boards}, as a JSON array. */
+    public void analyze(JsonParser boards, OutputStream out) throws IOException {
+        PositionAnalysis[] analyzed = new PositionAnalysis[PositionAnalyzer.POSITIONS];
+        List<String> chunk = new ArrayList<>(chunkSize);
+
+        try (boards) {
+            // the container owns the response stream
+            JsonGenerator json = mapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            JsonToken token;
+            while ((token = boards.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null)
+                    throw new IOException("Unterminated array of boards");
+
+                chunk.add(token == JsonToken.VALUE_STRING ? boards.getText() : null);
+                boards.skipChildren();
+                if (chunk.size() == chunkSize) {
+                    write(chunk, analyzed, json);
+                    chunk.clear();
+                }
+            }
+            write(chunk, analyzed, json);
+            json.writeEndArray();
+            json.close();
+        }
+    }
+
+    private void write(List<String> chunk, PositionAnalysis[] analyzed, JsonGenerator json) throws IOException {
+        Board[] boards = new Board[chunk.size()];
+        String[] errors = new String[chunk.size()];
+        List<Board> pending = new ArrayList<>();
+        boolean[] queued = new boolean[PositionAnalyzer.POSITIONS];
+
+        for (int i = 0; i < boards.length; i++) {
+            try {
+                boards[i] = parse(chunk.get(i));
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+                continue;
+            }
+            int index = PositionAnalyzer.canonicalIndex(boards[i]);
+            if (analyzed[index] == null && !queued[index]) {
+                queued[index] = true;
+                pending.add(PositionAnalyzer.canonical(boards[i]));
+            }
+        }
+        evaluate(pending, analyzed);
+
+        for (int i = 0; i < boards.length; i++) {
+            if (boards[i] == null) {
+                json.writeObject(BoardAnalysis.failed(chunk.get(i), errors[i]));
+                continue;
+            }
+            PositionAnalysis a = PositionAnalyzer.orient(analyzed[PositionAnalyzer.canonicalIndex(boards[i])], boards[i]);
+            json.writeObject(new BoardAnalysis(chunk.get(i), a.bestMove(), a.value(), a.scores(), null));
+        }
+        json.flush();
+    }
+
+    /** Fills in {@code analyzed} for every position; each slot is written by exactly one worker. */
+    private void evaluate(List<Board> positions, PositionAnalysis[] analyzed) {
+        if (positions.size() < PARALLEL_THRESHOLD) {
+            for (Board position : positions)
+                analyzed[PositionAnalyzer.canonicalIndex(position)] = analyzer.analyze(position);
+            return;
+        }
+
+        int slice = (positions.size() + workers - 1) / workers;
+        List<Future<?>> tasks = new ArrayList<>(workers);
+        for (int from = 0; from < positions.size(); from += slice) {
+            List<Board> part = positions.subList(from, Math.min(from + slice, positions.size()));
+            tasks.add(pool.submit(() -> {
+                for (Board position : part)
+                    analyzed[PositionAnalyzer.canonicalIndex(position)] = analyzer.analyze(position);
+            }));
+        }
+
+        try {
+            for (Future<?> task : tasks) task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analysis interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Strict counterpart of {@link Board#parse}: only positions reachable with X moving first. */
+    private static Board parse(String cells) {
+        if (cells == null || !cells.matches("[XO_]{9}"))
+            throw new IllegalArgumentException("board must be 9 characters of X, O and _");
+
+        Board board = Board.parse(cells);
+        int x = board.count(Movement.X);
+        int o = board.count(Movement.O);
+        if (x != o && x != o + 1)
+            throw new IllegalArgumentException("X moves first, so X must have as many marks as O or one more");
+
+        if ((board.hasLine(Movement.X) && x == o) || (board.hasLine(Movement.O) && x > o))
+            throw new IllegalArgumentException("moves were played after the game was won");
+
+        return board;
+    }
+}
@@ -0,0 +1,255 @@
+package com.personio.tictactoe.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameExport;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.enums.EngineType;
+import com.personio.tictactoe.model.enums.GameStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes finished games and their moves straight from a forward-only, read-only cursor: one row per
+ * move, ordered by game, folded into one line per game as the rows go by. Only the game being folded
+ * is held, so heap use does not grow with the table; the driver fetches {@code fetch-size} rows per
+ * round trip.
+ * <p>
+ * {@code finished_at} is stamped before the finishing transaction commits, so a game can become visible
+ * with a timestamp older than games an earlier export already returned, and a client resuming from its
+ * last {@code finishedAt} would skip it. Rather than add a commit-ordered sequence to every game, the
+ * export leaves out games finished within the last {@code grace-ms}: a game stamped earlier than that has
+ * long committed, so everything up to the last {@code finishedAt} returned is complete.
+ * <p>
+ * A full export can run for a long time, so each one gets a thread of its own from a small pool rather
+ * than one of the threads other requests share; more than {@code concurrent} exports at once get 503.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    static final String CSV_HEADER = "id,gameStatus,createdAt,finishedAt,boardSize,winLength,initiatorId,opponentId,aiEngine,moves";
+
+    // archived games have their moves packed on the game and no rows; rows are in the order they were written
+    private static final String QUERY = """
+            select g.id, g.game_status, g.creation_date, g.finished_at, g.board_size, g.win_length,
+                   g.initiator_id, g.opponent_id, g.ai_engine, m.movement_index, g.packed_moves
+            from games g left join moves m on m.game_id = g.id
+            where g.game_status in ('X_WON', 'O_WON', 'DRAW') and (g.finished_at is null or g.finished_at <= ?) %s
+            order by g.finished_at, g.id, m.id
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper mapper;
+    private final int fetchSize;
+    private final long graceMillis;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor pool;
+
+    public ExportService(JdbcTemplate jdbc,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper mapper,
+                         @Value("${tictactoe.exports.fetch-size:1000}") int fetchSize,
+                         @Value("${tictactoe.exports.grace-ms:5000}") long graceMillis,
+                         @Value("${tictactoe.exports.timeout-ms:3600000}") long timeoutMillis,
+                         @Value("${tictactoe.exports.concurrent:2}") int concurrent) {
+        this.jdbc = jdbc;
+        this.mapper = mapper;
+        this.fetchSize = fetchSize;
+        this.graceMillis = graceMillis;
+        this.timeoutMillis = timeoutMillis;
+        // some drivers, PostgreSQL among them, only stream a result set inside a transaction
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // no queue: an export waiting for a thread would spend its client's timeout doing nothing
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(concurrent, concurrent, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "export-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** How long a client may take to receive a whole export. */
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Runs {@link #export} on an export thread and closes {@code out} when done, or refuses with 503 when
+     * {@code tictactoe.exports.concurrent} exports are already running.
+     */
+    public CompletableFuture<Void> start(Instant since, Format format, OutputStream out) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try (out) {
+                    export(since, format, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, pool);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many exports in progress, please retry");
+        }
+    }
+
+    /**
+     * Exports games that finished at or after {@code since}, or every finished game when it is {@code null},
+     * except those finished within the grace period.
+     */
+    public void export(Instant since, Format format, OutputStream out) throws IOException {
+        Instant until = Instant.now().minusMillis(graceMillis);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = mapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .setRootValueSeparator(null); // lines are separated by the newline written after each game
+        if (format == Format.CSV) writer.write(CSV_HEADER + "\n");
+
+        Folder folder = new Folder(game -> {
+            if (format == Format.CSV) {
+                writer.write(csv(game));
+            } else {
+                json.writeObject(game);
+                json.flush();
+            }
+            writer.write('\n');
+        });
+
+        try {
+            readOnly.executeWithoutResult(status -> jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        QUERY.formatted(since == null ? "" : "and g.finished_at >= ?"),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setTimestamp(1, Timestamp.from(until));
+                if (since != null) ps.setTimestamp(2, Timestamp.from(since));
+                return ps;
+            }, folder));
+            folder.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static String csv(GameExport game) {
+        StringBuilder line = new StringBuilder()
+                .append(game.id()).append(',')
+                .append(game.gameStatus()).append(',')
+                .append(game.createdAt() == null ? "" : game.createdAt()).append(',')
+                .append(game.finishedAt() == null ? "" : game.finishedAt()).append(',')
+                .append(game.boardSize()).append(',')
+                .append(game.winLength()).append(',')
+                .append(game.initiatorId() == null ? "" : game.initiatorId()).append(',')
+                .append(game.opponentId() == null ? "" : game.opponentId()).append(',')
+                .append(game.aiEngine() == null ? "" : game.aiEngine()).append(',');
+        for (int i = 0; i < game.moves().length; i++) {
+            if (i > 0) line.append(' ');
+            line.append(game.moves()[i]);
+        }
+        return line.toString();
+    }
+
+    private interface GameWriter {
+        void write(GameExport game) throws IOException;
+    }
+
+    /** Collects the move rows of one game and hands the game on when the next one starts. */
+    private static final class Folder implements RowCallbackHandler {
+
+        private final GameWriter writer;
+        private GameExport current;
+        private int[] moves = new int[16];
+        private int count;
+
+        Folder(GameWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (current == null || current.id() != id) {
+                finish();
+                current = new GameExport(id,
+                        GameStatus.valueOf(rs.getString(2)),
+                        instant(rs.getTimestamp(3)),
+                        instant(rs.getTimestamp(4)),
+                        rs.getInt(5),
+                        rs.getInt(6),
+                        rs.getObject(7, Long.class),
+                        rs.getObject(8, Long.class),
+                        rs.getString(9) == null ? null : EngineType.valueOf(rs.getString(9)),
+                        null);
+
+                byte[] archived = rs.getBytes(11);
+                if (archived != null)
+                    for (int cell : Game.unpackMoves(archived)) add(cell);
+            }
+
+            int cell = rs.getInt(10);
+            if (!rs.wasNull()) add(cell);
+        }
+
+        private void add(int cell) {
+            if (count == moves.length) moves = Arrays.copyOf(moves, count * 2);
+            moves[count++] = cell;
+        }
+
+        void finish() {
+            if (current == null) return;
+            GameExport game = new GameExport(current.id(), current.gameStatus(), current.createdAt(), current.finishedAt(),
+                    current.boardSize(), current.winLength(), current.initiatorId(), current.opponentId(),
+                    current.aiEngine(), Arrays.copyOf(moves, count));
+            current = null;
+            count = 0;
+            try {
+                writer.write(game);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static Instant instant(Timestamp timestamp) {
+            return timestamp == null ? null : timestamp.toInstant();
+        }
+    }
+}
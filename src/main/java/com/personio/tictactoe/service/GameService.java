@@ -1,146 +1,219 @@
 package com.personio.tictactoe.service;
 
-import com.personio.tictactoe.ai.TicTacToeAiEngine;
+import com.personio.tictactoe.ai.AiEngineRegistry;
+import com.personio.tictactoe.ai.AiMoveExecutor;
+import com.personio.tictactoe.ai.AiPlayers;
 import com.personio.tictactoe.dto.AiMoveRequest;
 import com.personio.tictactoe.dto.AiMoveResponse;
 import com.personio.tictactoe.dto.PlayMoveRequest;
 import com.personio.tictactoe.dto.PlayMoveResponse;
-import com.personio.tictactoe.exception.PlayerAlreadyInGameException;
+import com.personio.tictactoe.events.GameUpdated;
+import com.personio.tictactoe.events.LobbyChange;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.locking.GameLocks;
 import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
 import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.model.enums.EngineType;
 import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.model.enums.Movement;
 import com.personio.tictactoe.repository.GameRepository;
 import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.store.ActivePlayers;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class GameService {
 
-    private static final List<GameStatus> ACTIVE_STATUSES = List.of(
-            GameStatus.WAITING_FOR_OPPONENT,
-            GameStatus.PLAYER_X_TURN,
-            GameStatus.PLAYER_O_TURN
-    );
-
     private final GameRepository gameRepository;
     private final PlayerRepository playerRepository;
     private final MoveService moveService;
-
-    private final TicTacToeAiEngine engine = new TicTacToeAiEngine();
-
+    private final AiEngineRegistry engines;
+    private final AiMoveExecutor aiMoves;
+    private final GameLocks gameLocks;
+    private final ApplicationEventPublisher events;
+    private final ActivePlayers activePlayers;
+    private final AiPlayers aiPlayers;
+    private final TransactionTemplate transaction;
 
     public Game createGame(Long initiatorId) {
-        if (gameRepository.existsActiveGameForPlayer(initiatorId, ACTIVE_STATUSES))
-            throw new PlayerAlreadyInGameException(initiatorId);
+        return createGame(initiatorId, Geometry.CLASSIC);
+    }
+
+    public Game createGame(Long initiatorId, Geometry geometry) {
+        activePlayers.claim(initiatorId);
 
         Player initiator = playerRepository.findById(initiatorId)
                 .orElseThrow(() -> new IllegalArgumentException("Player with id %d not found".formatted(initiatorId)));
 
         Game game = new Game()
                 .setGameStatus(GameStatus.WAITING_FOR_OPPONENT)
-                .setInitiator(initiator);
+                .setInitiator(initiator)
+                .setGeometry(geometry)
+                .setBoard(GameBoard.empty(geometry));
+
+        Game saved = gameRepository.save(game);
+        events.publishEvent(new LobbyChange.Opened(saved));
+        return saved;
+    }
+
+    /** Starts a game between two players who were paired up front, skipping the waiting state. */
+    public Game createMatchedGame(Long initiatorId, Long opponentId, Geometry geometry) {
+        activePlayers.claim(initiatorId);
+        activePlayers.claim(opponentId);
+
+        Player initiator = playerRepository.findById(initiatorId)
+                .orElseThrow(() -> new IllegalArgumentException("Player with id %d not found".formatted(initiatorId)));
+        Player opponent = playerRepository.findById(opponentId)
+                .orElseThrow(() -> new IllegalArgumentException("Player with id %d not found".formatted(opponentId)));
+
+        Game game = new Game()
+                .setGameStatus(GameStatus.PLAYER_X_TURN)
+                .setInitiator(initiator)
+                .setOpponent(opponent)
+                .setGeometry(geometry)
+                .setBoard(GameBoard.empty(geometry));
 
         return gameRepository.save(game);
     }
 
-    @Transactional(readOnly = true)
-    public List<Game> findAvailableGames() {
-        return gameRepository.findAllByGameStatus(GameStatus.WAITING_FOR_OPPONENT);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasActiveGame(Long playerId) {
+        return activePlayers.contains(playerId);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Game joinGame(Long gameId, Long playerId) {
 
-        if (gameRepository.existsActiveGameForPlayer(playerId, ACTIVE_STATUSES))
-            throw new PlayerAlreadyInGameException(playerId);
-
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalArgumentException("Game %d not found".formatted(gameId)));
+        activePlayers.claim(playerId);
 
-        validateGameJoining(game, gameId, playerId);
+        try {
+            return gameLocks.withGame(gameId, game -> {
+                validateGameJoining(game, gameId, playerId);
 
-        Player opponent = playerRepository.findById(playerId)
-                .orElseThrow(() -> new IllegalArgumentException("Player %d not found".formatted(playerId)));
+                Player opponent = playerRepository.findById(playerId)
+                        .orElseThrow(() -> new IllegalArgumentException("Player %d not found".formatted(playerId)));
 
-        game.setOpponent(opponent)
-                .setGameStatus(GameStatus.PLAYER_X_TURN);
+                game.setOpponent(opponent)
+                        .setGameStatus(GameStatus.PLAYER_X_TURN);
 
-        return gameRepository.save(game);
+                Game joined = gameRepository.saveAndFlush(game);
+                events.publishEvent(moveService.snapshot(gameId));
+                events.publishEvent(new LobbyChange.Closed(gameId));
+                return joined;
+            });
+        } catch (RuntimeException e) {
+            // the join ran in a transaction of its own, which has rolled back by now
+            activePlayers.release(playerId);
+            throw e;
+        }
     }
 
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Game createGameVsAi(Long humanId, boolean humanPlaysFirst) {
+        return createGameVsAi(humanId, humanPlaysFirst, Geometry.CLASSIC, EngineType.MINIMAX);
+    }
 
-        if (gameRepository.existsActiveGameForPlayer(humanId, ACTIVE_STATUSES))
-            throw new PlayerAlreadyInGameException(humanId);
+    /**
+     * When the AI opens, its first move depends only on the empty board, so it is searched before the
+     * creation transaction starts and no connection is held during the search.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Game createGameVsAi(Long humanId, boolean humanPlaysFirst, Geometry geometry, EngineType engineType) {
 
-        Player human = playerRepository.findById(humanId)
-                .orElseThrow(() -> new IllegalArgumentException("Player with id %d not found".formatted(humanId)));
+        int opening = humanPlaysFirst ? -1
+                : computeAiMove(engineType, GameBoard.empty(geometry), Movement.X, () -> false);
 
-        Player ai = getOrCreateAiPlayer();
+        return transaction.execute(status -> {
+            activePlayers.claim(humanId);
 
-        boolean aiPlaysFirst = !humanPlaysFirst;
+            Player human = playerRepository.findById(humanId)
+                    .orElseThrow(() -> new IllegalArgumentException("Player with id %d not found".formatted(humanId)));
 
-        Game game;
-        if (humanPlaysFirst) {
-            game = new Game()
-                    .setInitiator(human)
-                    .setOpponent(ai)
-                    .setGameStatus(GameStatus.PLAYER_X_TURN);
-        } else {
-            game = new Game()
-                    .setInitiator(ai)
-                    .setOpponent(human)
-                    .setGameStatus(GameStatus.PLAYER_X_TURN);
-        }
+            Player ai = aiPlayers.ai();
 
-        gameRepository.save(game);
+            Game game = new Game()
+                    .setInitiator(humanPlaysFirst ? human : ai)
+                    .setOpponent(humanPlaysFirst ? ai : human)
+                    .setGameStatus(GameStatus.PLAYER_X_TURN)
+                    .setGeometry(geometry)
+                    .setBoard(GameBoard.empty(geometry))
+                    .setAiEngine(engineType);
 
-        if (aiPlaysFirst) {
-            int aiMove = computeAiMoveIndex(Collections.nCopies(9, null), 'X');
-            if (aiMove != -1) {
+            gameRepository.save(game);
+
+            if (opening != -1) {
                 PlayMoveRequest aiReq = new PlayMoveRequest();
                 aiReq.setPlayerId(ai.getId());
-                aiReq.setMovementIndex(aiMove);
-                moveService.playMove(game.getId(), aiReq);
+                aiReq.setMovementIndex(opening);
+                moveService.playOpeningMove(game, aiReq);
             }
-        }
 
-        return gameRepository.findById(game.getId()).orElseThrow();
+            return gameRepository.findById(game.getId()).orElseThrow();
+        });
     }
 
     public AiMoveResponse playMoveVsAi(AiMoveRequest req) {
+        return playMoveVsAi(req, () -> false);
+    }
+
+    /** Queues the whole AI turn on {@link AiMoveExecutor}; a full queue is refused with 503 right away. */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<AiMoveResponse> submitMoveVsAi(AiMoveRequest req, BooleanSupplier cancelled) {
+        return aiMoves.submit(() -> playMoveVsAi(req, cancelled));
+    }
+
+    /**
+     * Three steps, none of which holds a transaction or connection into the next: the human move commits,
+     * the AI reply is searched on {@link AiMoveExecutor}, and the reply commits only if the game is still
+     * at the version the human move left it at. The search stops early, keeping its best move so far, once
+     * {@code cancelled} turns true; a turn already cancelled when it starts plays nothing.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AiMoveResponse playMoveVsAi(AiMoveRequest req, BooleanSupplier cancelled) {
+
+        // the client has already been answered with a timeout; playing the move now would contradict it
+        if (cancelled.getAsBoolean())
+            throw new ServiceUnavailableException("AI move request expired before it could be played");
 
         PlayMoveRequest humanReq = new PlayMoveRequest();
         humanReq.setPlayerId(req.playerId());
         humanReq.setMovementIndex(req.movementIndex());
 
-        PlayMoveResponse afterHuman = moveService.playMove(req.gameId(), humanReq);
+        GameUpdated afterHuman = moveService.playVersionedMove(req.gameId(), humanReq, null);
+        GameStatus status = afterHuman.state().getGameStatus();
 
-        if (!isGameRunning(afterHuman.getGameStatus()))
-            return toAiMoveResponse(afterHuman, -1);
+        if (!isGameRunning(status))
+            return toAiMoveResponse(afterHuman.state(), -1);
 
-        Game game = gameRepository.findById(req.gameId()).orElseThrow();
-        char aiSymbol = getAiSymbol(game);
+        // the AI is the side to move now
+        Movement aiSymbol = status == GameStatus.PLAYER_X_TURN ? Movement.X : Movement.O;
+        EngineType type = gameRepository.findAiEngineById(req.gameId()).orElse(EngineType.MINIMAX);
+        GameBoard position = afterHuman.state().getPosition();
 
-        int aiMove = computeAiMoveIndex(afterHuman.getBoard(), aiSymbol);
+        int aiMove = computeAiMove(type, position, aiSymbol, cancelled);
         if (aiMove == -1)
-            return toAiMoveResponse(afterHuman, -1);
+            return toAiMoveResponse(afterHuman.state(), -1);
 
         PlayMoveRequest aiReq = new PlayMoveRequest();
-        aiReq.setPlayerId(getOrCreateAiPlayer().getId());
+        aiReq.setPlayerId(aiPlayers.ai().getId());
         aiReq.setMovementIndex(aiMove);
 
-        PlayMoveResponse afterAi = moveService.playMove(req.gameId(), aiReq);
+        GameUpdated afterAi = moveService.playVersionedMove(req.gameId(), aiReq, afterHuman.version());
 
-        return toAiMoveResponse(afterAi, aiMove);
+        return toAiMoveResponse(afterAi.state(), aiMove);
     }
 
     private boolean isGameRunning(GameStatus status) {
@@ -153,26 +226,17 @@ public class GameService {
                 p.getRow1(),
                 p.getRow2(),
                 p.getRow3(),
+                p.getRows(),
                 p.getGameStatus(),
                 p.getWinner(),
                 aiIdx
         );
     }
 
-    private Player getOrCreateAiPlayer() {
-        return playerRepository.findPlayerByName("AI_BOT").orElseGet(() -> playerRepository.save(new Player().setName("AI_BOT")));
+    private int computeAiMove(EngineType type, GameBoard board, Movement aiSymbol, BooleanSupplier cancelled) {
+        return aiMoves.computeBestMove(engines.engineFor(type, board.geometry()), board, aiSymbol, cancelled);
     }
 
-    private int computeAiMoveIndex(List<String> board, char aiSymbol) {
-        String flat = board.stream()
-                .map(s -> s == null ? "_" : s)
-                .collect(Collectors.joining());
-        return engine.computeBestMove(flat, aiSymbol);
-    }
-
-    private char getAiSymbol(Game game) {
-        return game.getInitiator().getName().equals("AI_BOT") ? 'X' : 'O';
-    }
 
     private void validateGameJoining(Game game, Long gameId, Long playerId) {
         if (game.getOpponent() != null)
@@ -0,0 +1,121 @@
+package com.personio.tictactoe.service;
+
+import com.personio.tictactoe.exception.ConflictException;
+import com.personio.tictactoe.exception.PlayerAlreadyInGameException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.Geometry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pairs players who ask for a game of the same geometry. Each geometry has a single waiting slot updated
+ * with compare-and-set: a player finding it empty parks a ticket there, the next one takes the ticket out
+ * and creates the game for both, so every waiting player is claimed by exactly one partner and no request
+ * ever holds a lock. The first to arrive plays X. A player holds at most one ticket at a time, and when a
+ * pairing fails because one of the two is already in a game, only that player's ticket fails; the other
+ * goes back into the queue.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchmakingService {
+
+    private final GameService gameService;
+    private final Map<Geometry, AtomicReference<Ticket>> waiting = new ConcurrentHashMap<>();
+    private final Map<Long, Ticket> queued = new ConcurrentHashMap<>();
+
+    /**
+     * A player's place in the queue. {@link #game()} completes with the new game once someone has been matched
+     * with them, or with {@code null} once the ticket has been cancelled.
+     */
+    public static final class Ticket {
+
+        private final Long playerId;
+        private final Geometry geometry;
+        private final CompletableFuture<Game> game = new CompletableFuture<>();
+        private volatile boolean cancelled;
+
+        private Ticket(Long playerId, Geometry geometry) {
+            this.playerId = playerId;
+            this.geometry = geometry;
+        }
+
+        public CompletableFuture<Game> game() {
+            return game;
+        }
+    }
+
+    /** Matches {@code playerId} with whoever is waiting, or queues them; the ticket is already done when matched. */
+    public Ticket enqueue(Long playerId, Geometry geometry) {
+        if (gameService.hasActiveGame(playerId))
+            throw new PlayerAlreadyInGameException(playerId);
+
+        Ticket mine = new Ticket(playerId, geometry);
+        if (queued.putIfAbsent(playerId, mine) != null)
+            throw new ConflictException("Player %d is already waiting for a match".formatted(playerId));
+        mine.game.whenComplete((game, error) -> queued.remove(playerId, mine));
+
+        seat(mine);
+        return mine;
+    }
+
+    /** Takes a still unmatched ticket out of the queue; false if a partner claimed it first. */
+    public boolean cancel(Ticket ticket) {
+        ticket.cancelled = true;
+        AtomicReference<Ticket> slot = waiting.get(ticket.geometry);
+        if (slot == null || !slot.compareAndSet(ticket, null)) return false;
+
+        ticket.game.complete(null);
+        return true;
+    }
+
+    /** Parks the ticket in its geometry's slot, or matches it with the ticket already parked there. */
+    private void seat(Ticket mine) {
+        AtomicReference<Ticket> slot = waiting.computeIfAbsent(mine.geometry, g -> new AtomicReference<>());
+
+        while (true) {
+            Ticket parked = slot.get();
+
+            if (parked == null) {
+                if (slot.compareAndSet(null, mine)) {
+                    // a cancel that ran while the ticket was out of the slot, being matched, missed it there
+                    if (mine.cancelled && slot.compareAndSet(mine, null)) mine.game.complete(null);
+                    return;
+                }
+            } else if (slot.compareAndSet(parked, null)) {
+                match(parked, mine);
+                return;
+            }
+        }
+    }
+
+    private void match(Ticket first, Ticket second) {
+        try {
+            Game game = gameService.createMatchedGame(first.playerId, second.playerId, first.geometry);
+            first.game.complete(game);
+            second.game.complete(game);
+        } catch (PlayerAlreadyInGameException e) {
+            // e.g. one of them created or joined a game by hand while queued; the other is not to blame
+            if (e.getPlayerId().equals(first.playerId)) reject(first, second, e);
+            else if (e.getPlayerId().equals(second.playerId)) reject(second, first, e);
+            else fail(first, second, e);
+        } catch (RuntimeException e) {
+            fail(first, second, e);
+        }
+    }
+
+    private void reject(Ticket busy, Ticket innocent, RuntimeException e) {
+        busy.game.completeExceptionally(e);
+        if (innocent.cancelled) innocent.game.complete(null);
+        else seat(innocent);
+    }
+
+    private void fail(Ticket first, Ticket second, RuntimeException e) {
+        first.game.completeExceptionally(e);
+        second.game.completeExceptionally(e);
+    }
+}
@@ -2,25 +2,34 @@ package com.personio.tictactoe.service;
 
 import com.personio.tictactoe.dto.PlayMoveRequest;
 import com.personio.tictactoe.dto.PlayMoveResponse;
+import com.personio.tictactoe.exception.BadRequestException;
 import com.personio.tictactoe.exception.ConflictException;
 import com.personio.tictactoe.exception.ForbiddenException;
+import com.personio.tictactoe.events.GameFinished;
+import com.personio.tictactoe.events.GameUpdated;
 import com.personio.tictactoe.exception.NotFoundException;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.locking.GameLocks;
 import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.GameBoard;
 import com.personio.tictactoe.model.Move;
 import com.personio.tictactoe.model.Player;
 import com.personio.tictactoe.model.enums.GameStatus;
 import com.personio.tictactoe.model.enums.Movement;
 import com.personio.tictactoe.repository.GameRepository;
 import com.personio.tictactoe.repository.MoveRepository;
+import com.personio.tictactoe.store.ActiveGame;
+import com.personio.tictactoe.store.ActiveGameStore;
 import com.personio.tictactoe.util.BoardEvaluator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -29,36 +38,115 @@ public class MoveService {
 
     private final GameRepository gameRepo;
     private final MoveRepository moveRepo;
+    private final ActiveGameStore activeGames;
+    private final GameLocks gameLocks;
+    private final ApplicationEventPublisher events;
 
+    /** Runs in the transaction {@link GameLocks} opens once the game is ours, so waiting holds no connection. */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PlayMoveResponse playMove(Long gameId, PlayMoveRequest req) {
+        return playVersionedMove(gameId, req, null).state();
+    }
+
+    /**
+     * Like {@link #playMove} but answers with the version the move produced, and refuses the move with a
+     * conflict unless the game is still at {@code expectedVersion}; {@code null} accepts any version.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public GameUpdated playVersionedMove(Long gameId, PlayMoveRequest req, Long expectedVersion) {
+
+        if (activeGames.isEnabled()) {
+            Optional<ActiveGame> active = activeGames.acquire(gameId);
+            if (active.isPresent())
+                return playInMemory(active.get(), req, expectedVersion);
+        }
+
+        return gameLocks.withGame(gameId, game -> {
+            checkVersion(game.getVersion(), expectedVersion);
+            return applyMove(game, req);
+        });
+    }
+
+    /** Plays the first move of a game created in the current transaction, which no one else can see yet. */
+    public PlayMoveResponse playOpeningMove(Game game, PlayMoveRequest req) {
+        return applyMove(game, req).state();
+    }
 
-        Game game = gameRepo.findByIdForUpdate(gameId).orElseThrow(() -> new NotFoundException("Game not found"));
+    private GameUpdated applyMove(Game game, PlayMoveRequest req) {
 
         Player player = resolvePlayer(game, req.getPlayerId());
         Movement playerSymbol = getPlayerSymbol(game, player);
 
-        validateTurn(game, playerSymbol);
+        validateTurn(game.getGameStatus(), playerSymbol);
+        validateCell(game.getGeometry().cells(), req.getMovementIndex());
 
-        if (moveRepo.existsByGameIdAndMovementIndex(gameId, req.getMovementIndex()))
+        GameBoard current = currentBoard(game);
+        if (!current.isEmpty(req.getMovementIndex()))
             throw new ConflictException("Cell already taken");
 
         Move move = new Move().setGame(game).setPlayer(player).setMovementIndex(req.getMovementIndex()).setMovement(playerSymbol);
 
-        try { moveRepo.saveAndFlush(move); }
-        catch (DataIntegrityViolationException ignore) {}
+        // a unique-key race here rolls the move back; GameLocks retries it or reports a conflict
+        moveRepo.saveAndFlush(move);
 
-        List<Movement> board = buildBoard(gameId);
-        GameStatus newStatus = evaluateAndUpdateStatus(game, board);
+        GameBoard board = current.with(req.getMovementIndex(), playerSymbol);
+        game.setBoard(board);
+        GameStatus newStatus = evaluate(board, game.getGameStatus());
+        game.setGameStatus(newStatus);
+        // flushing now bumps the version, which the update event carries
+        gameRepo.saveAndFlush(game);
+
+        GameUpdated update = new GameUpdated(game.getId(), game.getVersion(), toResponse(board, newStatus, winnerName(game, newStatus)));
+        events.publishEvent(update);
+        if (newStatus.isFinished())
+            events.publishEvent(new GameFinished(game.getId(), game.getInitiator().getId(), game.getInitiator().getName(),
+                    game.getOpponent().getId(), game.getOpponent().getName(), newStatus));
+        return update;
+    }
 
-        List<String> boardStrings = boardToString(board);
-        List<String> rows = toRowStrings(boardStrings);
+    private GameUpdated playInMemory(ActiveGame game, PlayMoveRequest req, Long expectedVersion) {
+        GameBoard board;
+        GameStatus newStatus;
+        CompletableFuture<Void> durable;
+        GameUpdated update;
+
+        synchronized (game) {
+            if (game.isDegraded())
+                throw new ServiceUnavailableException("Game was handed back to the database, please retry");
+            activeGames.checkCapacity();
+            checkVersion(game.getVersion(), expectedVersion);
+            Movement playerSymbol = resolveSymbol(game, req.getPlayerId());
+            validateTurn(game.getStatus(), playerSymbol);
+            validateCell(game.getGeometry().cells(), req.getMovementIndex());
+
+            if (!game.getBoard().isEmpty(req.getMovementIndex()))
+                throw new ConflictException("Cell already taken");
+
+            board = game.getBoard().with(req.getMovementIndex(), playerSymbol);
+            newStatus = evaluate(board, game.getStatus());
+            game.advance(board, newStatus);
+            durable = activeGames.record(game, req.getPlayerId(), req.getMovementIndex(), playerSymbol);
+            update = new GameUpdated(game.getId(), game.getVersion(), toResponse(board, newStatus, winnerName(game, newStatus)));
+            events.publishEvent(update);
+            if (newStatus.isFinished())
+                events.publishEvent(new GameFinished(game.getId(), game.getInitiatorId(), game.getInitiatorName(),
+                        game.getOpponentId(), game.getOpponentName(), newStatus));
+        }
+
+        activeGames.acknowledge(durable);
+
+        return update;
+    }
 
-        return new PlayMoveResponse(
-                boardStrings,
-                rows.get(0), rows.get(1), rows.get(2),
-                newStatus,
-                winnerName(game, newStatus)
-        );
+    private void checkVersion(long current, Long expected) {
+        if (expected != null && expected != current)
+            throw new ConflictException("Game was changed concurrently, please retry");
+    }
+
+    private Movement resolveSymbol(ActiveGame game, Long playerId) {
+        if (game.getInitiatorId().equals(playerId)) return Movement.X;
+        if (game.getOpponentId().equals(playerId)) return Movement.O;
+        throw new ForbiddenException("Player doesn't belong to this game");
     }
 
     private Player resolvePlayer(Game game, Long playerId) {
@@ -76,15 +164,15 @@ public class MoveService {
         return game.getInitiator().equals(player) ? Movement.X : Movement.O;
     }
 
-    private void validateTurn(Game game, Movement playerSymbol) {
+    private void validateTurn(GameStatus status, Movement playerSymbol) {
 
-        if (game.getGameStatus() == GameStatus.X_WON || game.getGameStatus() == GameStatus.O_WON)
+        if (status == GameStatus.X_WON || status == GameStatus.O_WON)
             throw new ConflictException("Game already finished");
 
-        if (game.getGameStatus() == GameStatus.WAITING_FOR_OPPONENT)
+        if (status == GameStatus.WAITING_FOR_OPPONENT)
             throw new ConflictException("Opponent not joined yet");
 
-        boolean xTurn = game.getGameStatus() == GameStatus.PLAYER_X_TURN;
+        boolean xTurn = status == GameStatus.PLAYER_X_TURN;
 
         if (xTurn && playerSymbol != Movement.X)
             throw new ForbiddenException("It's X player's turn");
@@ -94,13 +182,28 @@ public class MoveService {
 
     }
 
-    private List<Movement> buildBoard(Long gameId) {
-        List<Movement> board = new ArrayList<>(Arrays.asList(new Movement[9]));
-        moveRepo.findByGameId(gameId).forEach(m -> board.set(m.getMovementIndex(), m.getMovement()));
+    private void validateCell(int cells, Integer index) {
+        if (index == null || index < 0 || index >= cells)
+            throw new BadRequestException("Movement index must be between 0 and %d".formatted(cells - 1));
+    }
+
+    private GameBoard currentBoard(Game game) {
+        GameBoard board = game.getBoard();
+        return board != null ? board : replay(game);
+    }
+
+    /** Rebuilds the position from the move history; only needed for games that predate the packed board. */
+    private GameBoard replay(Game game) {
+        int[] archived = game.getArchivedMoves();
+        if (archived != null) return GameBoard.replay(game.getGeometry(), archived);
+
+        GameBoard board = GameBoard.empty(game.getGeometry());
+        for (Move m : moveRepo.findByGameId(game.getId()))
+            board = board.with(m.getMovementIndex(), m.getMovement());
         return board;
     }
 
-    private GameStatus evaluateAndUpdateStatus(Game game, List<Movement> board) {
+    private GameStatus evaluate(GameBoard board, GameStatus current) {
 
         var winnerOpt = BoardEvaluator.winner(board);
 
@@ -113,33 +216,40 @@ public class MoveService {
             newStatus = GameStatus.DRAW;
 
         else
-            newStatus = (game.getGameStatus() == GameStatus.PLAYER_X_TURN) ? GameStatus.PLAYER_O_TURN : GameStatus.PLAYER_X_TURN;
-
-        game.setGameStatus(newStatus);
+            newStatus = (current == GameStatus.PLAYER_X_TURN) ? GameStatus.PLAYER_O_TURN : GameStatus.PLAYER_X_TURN;
 
         return newStatus;
     }
 
-    private List<String> boardToString(List<Movement> board) {
-        List<String> out = new ArrayList<>(9);
-        board.forEach(m -> out.add(m == null ? null : m.name()));
-        return out;
-    }
-
-    private String val(String s) {
-        return (s == null || "_".equals(s)) ? " " : s;
-    }
+    private PlayMoveResponse toResponse(GameBoard board, GameStatus status, String winner) {
+        int size = board.geometry().size();
+        String[] cells = new String[size * size];
+        String[] rows = new String[size];
+
+        StringBuilder row = new StringBuilder(size * 4);
+        for (int r = 0; r < size; r++) {
+            row.setLength(0);
+            for (int c = 0; c < size; c++) {
+                Movement m = board.at(r * size + c);
+                cells[r * size + c] = m == null ? null : m.name();
+                if (c > 0) row.append(" | ");
+                row.append(val(m));
+            }
+            rows[r] = row.toString();
+        }
 
-    private List<String> toRowStrings(List<String> board) {
-        return List.of(
-                formatRow(board.get(0), board.get(1), board.get(2)),
-                formatRow(board.get(3), board.get(4), board.get(5)),
-                formatRow(board.get(6), board.get(7), board.get(8))
+        return new PlayMoveResponse(
+                Arrays.asList(cells),
+                rows[0], rows[1], rows[2],
+                Arrays.asList(rows),
+                status,
+                winner,
+                board
         );
     }
 
-    private String formatRow(String a, String b, String c) {
-        return "%s | %s | %s".formatted(val(a), val(b), val(c));
+    private String val(Movement m) {
+        return m == null ? " " : m.name();
     }
 
     private String winnerName(Game game, GameStatus status) {
@@ -150,21 +260,52 @@ public class MoveService {
         };
     }
 
+    private String winnerName(ActiveGame game, GameStatus status) {
+        return switch (status) {
+            case X_WON -> game.getInitiatorName();
+            case O_WON -> game.getOpponentName();
+            default -> null;
+        };
+    }
+
     public PlayMoveResponse viewGame(Long gameId) {
+        return snapshot(gameId).state();
+    }
+
+    /** The game as it stands, with the version that state belongs to. */
+    public GameUpdated snapshot(Long gameId) {
+        if (activeGames.isEnabled()) {
+            Optional<ActiveGame> active = activeGames.find(gameId);
+            if (active.isPresent()) {
+                ActiveGame game = active.get();
+                synchronized (game) {
+                    return new GameUpdated(gameId, game.getVersion(),
+                            toResponse(game.getBoard(), game.getStatus(), winnerName(game, game.getStatus())));
+                }
+            }
+        }
+
         Game game = gameRepo.findById(gameId)
                 .orElseThrow(() -> new NotFoundException("Game not found"));
 
-        List<Movement> board = buildBoard(gameId);
-
-        List<String> boardStrings = boardToString(board);
-        List<String> rows = toRowStrings(boardStrings);
+        return new GameUpdated(gameId, game.getVersion(),
+                toResponse(currentBoard(game), game.getGameStatus(), winnerName(game, game.getGameStatus())));
+    }
 
-        return new PlayMoveResponse(
-                boardStrings,
-                rows.get(0), rows.get(1), rows.get(2),
-                game.getGameStatus(),
-                winnerName(game, game.getGameStatus())
-        );
+    /** Only the version, from memory or a single indexed lookup, for clients that already hold the state. */
+    @Transactional(readOnly = true)
+    public long currentVersion(Long gameId) {
+        if (activeGames.isEnabled()) {
+            Optional<ActiveGame> active = activeGames.find(gameId);
+            if (active.isPresent()) {
+                ActiveGame game = active.get();
+                synchronized (game) {
+                    return game.getVersion();
+                }
+            }
+        }
+
+        return gameRepo.findVersionById(gameId).orElseThrow(() -> new NotFoundException("Game not found"));
     }
 
 }
\ No newline at end of file
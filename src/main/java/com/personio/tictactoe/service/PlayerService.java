@@ -1,8 +1,12 @@
 package com.personio.tictactoe.service;
 
+import com.personio.tictactoe.dto.PlayerResponse;
+import com.personio.tictactoe.exception.ConflictException;
 import com.personio.tictactoe.model.Player;
 import com.personio.tictactoe.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,10 +21,15 @@ public class PlayerService {
 
     public Player registerPlayer(String name) {
         Player player = new Player().setName(name).setTotalGames(0).setWins(0).setLoss(0).setDraws(0);
-        return playerRepository.save(player);
+        try {
+            return playerRepository.saveAndFlush(player);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Player name %s is already taken".formatted(name));
+        }
     }
 
-    public List<Player> getPlayers() {
-        return playerRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<PlayerResponse> getPlayers(long afterId, int limit) {
+        return playerRepository.findPageAfter(afterId, Limit.of(limit));
     }
 }
\ No newline at end of file
@@ -0,0 +1,309 @@
+package com.personio.tictactoe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.ai.AiEngine;
+import com.personio.tictactoe.ai.AiEngineRegistry;
+import com.personio.tictactoe.ai.AiPlayers;
+import com.personio.tictactoe.ai.SearchBudget;
+import com.personio.tictactoe.dto.SimulationRequest;
+import com.personio.tictactoe.dto.SimulationResult;
+import com.personio.tictactoe.exception.BadRequestException;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.EngineType;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.model.enums.Movement;
+import com.personio.tictactoe.repository.GameRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Plays AI-vs-AI games in memory on a pool with one worker per core. Workers claim game numbers from a
+ * shared counter and hand finished games to a small bounded queue; a coordinator thread drains it and
+ * writes each drained chunk as NDJSON straight away, so a slow client throttles the workers instead of
+ * results piling up. Coordinators come from their own small pool, one per running simulation, so a long
+ * stream never holds a thread other requests need. With {@code persist}, finished games are also stored
+ * in batches.
+ */
+@Slf4j
+@Service
+public class SimulationService {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final byte NEWLINE = '\n';
+
+    /** Receives each chunk of NDJSON lines as soon as it is ready. */
+    public interface Sink {
+        void write(byte[] chunk) throws IOException;
+    }
+
+    private final AiEngineRegistry engines;
+    private final AiPlayers aiPlayers;
+    private final GameRepository gameRepository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper mapper;
+    private final long maxGames;
+    private final int batchSize;
+    private final int workers;
+    private final long timeoutMillis;
+    private final ExecutorService pool;
+    private final ThreadPoolExecutor coordinators;
+
+    public SimulationService(AiEngineRegistry engines,
+                             AiPlayers aiPlayers,
+                             GameRepository gameRepository,
+                             JdbcTemplate jdbc,
+                             TransactionTemplate transaction,
+                             ObjectMapper mapper,
+                             @Value("${tictactoe.simulations.max-games:10000000}") long maxGames,
+                             @Value("${tictactoe.simulations.batch-size:500}") int batchSize,
+                             @Value("${tictactoe.simulations.threads:0}") int threads,
+                             @Value("${tictactoe.simulations.timeout-ms:600000}") long timeoutMillis,
+                             @Value("${tictactoe.simulations.concurrent:2}") int concurrent) {
+        this.engines = engines;
+        this.aiPlayers = aiPlayers;
+        this.gameRepository = gameRepository;
+        this.jdbc = jdbc;
+        this.transaction = transaction;
+        this.mapper = mapper;
+        this.maxGames = maxGames;
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "simulation-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // no queue: a simulation waiting for a coordinator would spend its client's timeout doing nothing
+        AtomicInteger coordinatorIds = new AtomicInteger();
+        this.coordinators = new ThreadPoolExecutor(concurrent, concurrent, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "simulation-coordinator-" + coordinatorIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /** How long a client may take to receive a whole simulation. */
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /** What a request asks for, checked and with its defaults filled in. */
+    public record Simulation(long games, Geometry geometry, EngineType xEngine, EngineType oEngine,
+                             int randomOpenings, long nodesPerMove, long seed, boolean persist) {
+    }
+
+    public Simulation plan(SimulationRequest req, long defaultSeed) {
+        if (req.games() > maxGames)
+            throw new BadRequestException("At most %d games per simulation".formatted(maxGames));
+
+        Geometry geometry;
+        try {
+            geometry = Geometry.of(req.boardSize(), req.winLength());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        return new Simulation(req.games(), geometry,
+                req.xEngine() == null ? EngineType.MINIMAX : req.xEngine(),
+                req.oEngine() == null ? EngineType.MINIMAX : req.oEngine(),
+                req.randomOpenings() == null ? 1 : Math.min(req.randomOpenings(), geometry.cells()),
+                req.nodesPerMove() == null ? Long.MAX_VALUE : req.nodesPerMove(),
+                req.seed() == null ? defaultSeed : req.seed(),
+                req.persist());
+    }
+
+    /**
+     * Runs {@link #run} on a coordinator thread of its own, or refuses with 503 when
+     * {@code tictactoe.simulations.concurrent} simulations are already running.
+     */
+    public CompletableFuture<Void> start(Simulation sim, Sink sink, BooleanSupplier abandoned) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    run(sim, sink, abandoned);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, coordinators);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many simulations in progress, please retry");
+        }
+    }
+
+    /** Plays every game of {@code sim} and writes one line per game, in the order they finish. */
+    private void run(Simulation sim, Sink sink, BooleanSupplier abandoned) throws IOException {
+        AiEngine x = engines.engineFor(sim.xEngine(), sim.geometry());
+        AiEngine o = engines.engineFor(sim.oEngine(), sim.geometry());
+        BlockingQueue<SimulationResult> results = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicLong next = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        List<Future<?>> tasks = new ArrayList<>(workers);
+        for (long w = 0; w < Math.min(workers, sim.games()); w++)
+            tasks.add(pool.submit(() -> {
+                long game;
+                while (!stop.get() && (game = next.getAndIncrement()) < sim.games()) {
+                    SimulationResult result = play(sim, x, o, game);
+                    while (!results.offer(result, 50, TimeUnit.MILLISECONDS))
+                        if (stop.get()) return null;
+                }
+                return null;
+            }));
+
+        List<SimulationResult> chunk = new ArrayList<>(QUEUE_CAPACITY);
+        List<SimulationResult> unsaved = new ArrayList<>();
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        try {
+            long written = 0;
+            while (written < sim.games()) {
+                if (abandoned.getAsBoolean()) return;
+
+                SimulationResult first = results.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    rethrowFailure(tasks);
+                    continue;
+                }
+
+                chunk.add(first);
+                results.drainTo(chunk, QUEUE_CAPACITY - 1);
+                lines.reset();
+                for (SimulationResult result : chunk) {
+                    mapper.writeValue(lines, result);
+                    lines.write(NEWLINE);
+                }
+                sink.write(lines.toByteArray());
+                written += chunk.size();
+
+                if (sim.persist()) {
+                    unsaved.addAll(chunk);
+                    if (unsaved.size() >= batchSize) {
+                        save(sim, unsaved);
+                        unsaved.clear();
+                    }
+                }
+                chunk.clear();
+            }
+            if (!unsaved.isEmpty()) save(sim, unsaved);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stop.set(true);
+        }
+    }
+
+    private SimulationResult play(Simulation sim, AiEngine x, AiEngine o, long game) {
+        SplittableRandom random = new SplittableRandom(sim.seed() ^ (game * 0x9E3779B97F4A7C15L));
+        GameBoard board = GameBoard.empty(sim.geometry());
+        int[] moves = new int[sim.geometry().cells()];
+        int plies = 0;
+
+        while (!board.isFinished()) {
+            Movement side = plies % 2 == 0 ? Movement.X : Movement.O;
+            int cell;
+            if (plies < sim.randomOpenings()) {
+                cell = randomEmptyCell(board, random);
+            } else {
+                AiEngine engine = side == Movement.X ? x : o;
+                SearchBudget budget = engine.defaultBudget().capNodes(sim.nodesPerMove());
+                cell = engine.computeBestMove(board, side, budget, random.nextLong());
+            }
+            board = board.with(cell, side);
+            moves[plies++] = cell;
+        }
+
+        Movement winner = board.winner();
+        GameStatus result = winner == null ? GameStatus.DRAW : winner == Movement.X ? GameStatus.X_WON : GameStatus.O_WON;
+        return new SimulationResult(game, result, Arrays.copyOf(moves, plies));
+    }
+
+    /** Every empty cell equally likely: the k-th empty one for a uniform k. */
+    private static int randomEmptyCell(GameBoard board, SplittableRandom random) {
+        int cells = board.geometry().cells();
+        int k = random.nextInt(cells - board.count(Movement.X) - board.count(Movement.O));
+        for (int cell = 0; ; cell++)
+            if (board.isEmpty(cell) && k-- == 0) return cell;
+    }
+
+    /** Stores a batch as games started by the AI player; both sides' moves are recorded under its id. */
+    private void save(Simulation sim, List<SimulationResult> batch) {
+        Long aiId = aiPlayers.ai().getId();
+        transaction.executeWithoutResult(status -> {
+            List<Game> games = new ArrayList<>(batch.size());
+            for (SimulationResult result : batch)
+                games.add(new Game()
+                        .setInitiator(aiPlayers.ai())
+                        .setGameStatus(result.result())
+                        .setGeometry(sim.geometry())
+                        .setBoard(GameBoard.replay(sim.geometry(), result.moves()))
+                        .setAiEngine(sim.xEngine()));
+            gameRepository.saveAll(games);
+
+            List<long[]> moves = new ArrayList<>();
+            for (int g = 0; g < games.size(); g++) {
+                int[] cells = batch.get(g).moves();
+                for (int i = 0; i < cells.length; i++)
+                    moves.add(new long[]{games.get(g).getId(), cells[i], i % 2});
+            }
+            jdbc.batchUpdate(
+                    "insert into moves (game_id, player_id, movement_index, movement) values (?, ?, ?, ?)",
+                    moves, moves.size(), (ps, m) -> {
+                        ps.setLong(1, m[0]);
+                        ps.setLong(2, aiId);
+                        ps.setInt(3, (int) m[1]);
+                        ps.setString(4, m[2] == 0 ? Movement.X.name() : Movement.O.name());
+                    });
+        });
+    }
+
+    private static void rethrowFailure(List<Future<?>> tasks) throws InterruptedException {
+        for (Future<?> task : tasks) {
+            if (!task.isDone()) continue;
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.personio.tictactoe.stats;
+
+import com.personio.tictactoe.dto.LeaderboardEntry;
+import com.personio.tictactoe.dto.PlayerResponse;
+import com.personio.tictactoe.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of every player with at least one finished game. A concurrent skip list ordered by
+ * rating serves the top N in O(log n + N) without locking; a Fenwick tree counting players per rating
+ * answers a player's rank, one plus the number of players rated strictly higher, in O(log r). Players
+ * with equal ratings share a rank.
+ */
+@Slf4j
+@Component
+public class Leaderboard {
+
+    private static final int LOAD_BATCH = 1000;
+    private static final Comparator<PlayerStats> RANKING =
+            Comparator.comparingInt(PlayerStats::rating).reversed().thenComparing(PlayerStats::playerId);
+
+    private final PlayerRepository playerRepository;
+    private final Map<Long, PlayerStats> players = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<PlayerStats> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final RatingCounts counts = new RatingCounts();
+
+    public Leaderboard(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        List<PlayerResponse> page;
+        long after = 0;
+        do {
+            page = playerRepository.findPageAfter(after, Limit.of(LOAD_BATCH));
+            for (PlayerResponse p : page) {
+                if (p.totalGames() == null || p.totalGames() == 0) continue;
+                update(new PlayerStats(p.id(), p.name(), p.totalGames(), orZero(p.wins()), orZero(p.loss()), orZero(p.draws())));
+            }
+            if (!page.isEmpty()) after = page.get(page.size() - 1).id();
+        } while (page.size() == LOAD_BATCH);
+        log.info("Loaded {} ranked players into the leaderboard", players.size());
+    }
+
+    public Optional<PlayerStats> statsOf(Long playerId) {
+        return Optional.ofNullable(players.get(playerId));
+    }
+
+    /** Replaces a player's counters. Callers are serialized; readers never block. */
+    public synchronized void update(PlayerStats stats) {
+        PlayerStats previous = players.put(stats.playerId(), stats);
+        if (previous != null) {
+            ranking.remove(previous);
+            counts.add(previous.rating(), -1);
+        }
+        counts.add(stats.rating(), 1);
+        ranking.add(stats);
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, players.size()));
+        for (PlayerStats stats : ranking) {
+            if (entries.size() == limit) break;
+            entries.add(entry(stats));
+        }
+        return entries;
+    }
+
+    public Optional<LeaderboardEntry> entryOf(Long playerId) {
+        return statsOf(playerId).map(this::entry);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    private LeaderboardEntry entry(PlayerStats s) {
+        return new LeaderboardEntry(counts.above(s.rating()) + 1, s.playerId(), s.name(), s.rating(),
+                s.totalGames(), s.wins(), s.loss(), s.draws());
+    }
+
+    private static int orZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    /** Fenwick tree of player counts indexed by rating + 1, doubling its power-of-two capacity as ratings climb. */
+    private static final class RatingCounts {
+
+        private int[] tree = new int[64 + 1];
+        private int total;
+
+        synchronized void add(int rating, int delta) {
+            while (rating + 1 >= tree.length) grow();
+            total += delta;
+            for (int i = rating + 1; i < tree.length; i += i & -i) tree[i] += delta;
+        }
+
+        /** Players rated strictly above {@code rating}. */
+        synchronized int above(int rating) {
+            int atMost = 0;
+            for (int i = Math.min(rating + 1, tree.length - 1); i > 0; i -= i & -i) atMost += tree[i];
+            return total - atMost;
+        }
+
+        // the new upper half is empty, so only its last node, which covers everything, is non-zero
+        private void grow() {
+            int capacity = tree.length - 1;
+            tree = Arrays.copyOf(tree, 2 * capacity + 1);
+            tree[2 * capacity] = tree[capacity];
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.personio.tictactoe.stats;
+
+/** A player's finished-game counters; the rating is two points per win and one per draw. */
+public record PlayerStats(Long playerId, String name, int totalGames, int wins, int loss, int draws) {
+
+    public static PlayerStats none(Long playerId, String name) {
+        return new PlayerStats(playerId, name, 0, 0, 0, 0);
+    }
+
+    public int rating() {
+        return 2 * wins + draws;
+    }
+
+    PlayerStats plus(int games, int wins, int loss, int draws) {
+        return new PlayerStats(playerId, name, totalGames + games, this.wins + wins, this.loss + loss, this.draws + draws);
+    }
+}
@@ -0,0 +1,183 @@
+package com.personio.tictactoe.stats;
+
+import com.personio.tictactoe.events.GameFinished;
+import com.personio.tictactoe.model.enums.GameStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the players' game counters up to date without touching the entities. Finished games are queued
+ * once their move has committed; a single background thread folds each batch into one delta per player
+ * and applies it with a JDBC batch of {@code counter = counter + ?} updates, so concurrent results never
+ * overwrite each other. Committed deltas are then applied to the {@link Leaderboard}. A failed batch is
+ * kept and retried with exponential backoff until it commits, ahead of everything queued behind it; only a
+ * batch still failing once the application is shutting down is given up.
+ */
+@Slf4j
+@Component
+public class PlayerStatsRecorder {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final String INCREMENT = "update players set total_games = coalesce(total_games, 0) + ?, "
+            + "wins = coalesce(wins, 0) + ?, loss = coalesce(loss, 0) + ?, draws = coalesce(draws, 0) + ? where id = ?";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final Leaderboard leaderboard;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<GameFinished> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PlayerStatsRecorder(JdbcTemplate jdbc,
+                               TransactionTemplate transaction,
+                               Leaderboard leaderboard,
+                               @Value("${tictactoe.stats.batch-size:256}") int batchSize,
+                               @Value("${tictactoe.stats.flush-interval-ms:50}") long flushIntervalMillis,
+                               @Value("${tictactoe.stats.retry-backoff-ms:50}") long retryBackoffMillis) {
+        this.jdbc = jdbc;
+        this.transaction = transaction;
+        this.leaderboard = leaderboard;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @PostConstruct
+    synchronized void start() {
+        if (running) return;
+
+        running = true;
+        worker = new Thread(this::run, "player-stats");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Stops taking new batches; the worker writes whatever is still queued before it exits. */
+    @PreDestroy
+    synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive())
+            log.warn("Player stats recorder still busy at shutdown with {} games queued", queue.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameFinished(GameFinished event) {
+        queue.add(event);
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<GameFinished> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                GameFinished first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // drained here rather than by stop() so no two threads ever apply the same deltas
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        List<GameFinished> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<GameFinished> batch) {
+        Map<Long, PlayerStats> deltas = new LinkedHashMap<>();
+        for (GameFinished game : batch) {
+            GameStatus result = game.result();
+            add(deltas, game.initiatorId(), game.initiatorName(), result == GameStatus.X_WON, result == GameStatus.O_WON, result);
+            add(deltas, game.opponentId(), game.opponentName(), result == GameStatus.O_WON, result == GameStatus.X_WON, result);
+        }
+
+        long backoff = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.executeWithoutResult(status -> jdbc.batchUpdate(INCREMENT, deltas.values(), deltas.size(),
+                        (ps, d) -> {
+                            ps.setInt(1, d.totalGames());
+                            ps.setInt(2, d.wins());
+                            ps.setInt(3, d.loss());
+                            ps.setInt(4, d.draws());
+                            ps.setLong(5, d.playerId());
+                        }));
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS && (!running || Thread.currentThread().isInterrupted())) {
+                    log.error("Dropped player stats of {} finished games at shutdown after {} attempts",
+                            batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Player stats batch of {} games failed (attempt {}), retrying in {} ms",
+                        batch.size(), attempt, backoff, e);
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+
+        for (PlayerStats delta : deltas.values()) {
+            PlayerStats current = leaderboard.statsOf(delta.playerId())
+                    .orElseGet(() -> PlayerStats.none(delta.playerId(), delta.name()));
+            leaderboard.update(current.plus(delta.totalGames(), delta.wins(), delta.loss(), delta.draws()));
+        }
+    }
+
+    private static void add(Map<Long, PlayerStats> deltas, Long playerId, String name, boolean won, boolean lost,
+                            GameStatus result) {
+        if (playerId == null) return;
+
+        deltas.merge(playerId,
+                new PlayerStats(playerId, name, 1, won ? 1 : 0, lost ? 1 : 0, result == GameStatus.DRAW ? 1 : 0),
+                (a, b) -> a.plus(b.totalGames(), b.wins(), b.loss(), b.draws()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
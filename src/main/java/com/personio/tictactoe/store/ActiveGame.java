@@ -0,0 +1,54 @@
+package com.personio.tictactoe.store;
+
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.GameStatus;
+import lombok.Getter;
+
+/**
+ * In-memory state of one running game. The participants and geometry never change; board, status and version
+ * are only read and advanced while holding the instance's monitor. A degraded game's moves could not be
+ * written; it takes no more moves, and those still queued for it are dropped.
+ */
+@Getter
+public final class ActiveGame {
+
+    private final Long id;
+    private final Long initiatorId;
+    private final String initiatorName;
+    private final Long opponentId;
+    private final String opponentName;
+    private final Geometry geometry;
+    private GameBoard board;
+    private GameStatus status;
+    private long version;
+    private volatile boolean degraded;
+
+    ActiveGame(Game game, GameBoard board) {
+        this.id = game.getId();
+        this.initiatorId = game.getInitiator().getId();
+        this.initiatorName = game.getInitiator().getName();
+        this.opponentId = game.getOpponent().getId();
+        this.opponentName = game.getOpponent().getName();
+        this.geometry = game.getGeometry();
+        this.board = board;
+        this.status = game.getGameStatus();
+        this.version = game.getVersion();
+    }
+
+    /** Applies a move; the version moves in step with the {@code version} column the flusher writes. */
+    public void advance(GameBoard board, GameStatus status) {
+        this.board = board;
+        this.status = status;
+        this.version++;
+    }
+
+    synchronized void degrade() {
+        this.degraded = true;
+    }
+
+    public boolean isRunning() {
+        return status == GameStatus.PLAYER_X_TURN || status == GameStatus.PLAYER_O_TURN;
+    }
+}
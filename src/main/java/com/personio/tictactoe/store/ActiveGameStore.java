@@ -0,0 +1,183 @@
+package com.personio.tictactoe.store;
+
+import com.personio.tictactoe.events.GameFinished;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.model.enums.Movement;
+import com.personio.tictactoe.repository.GameRepository;
+import com.personio.tictactoe.repository.MoveRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Running games kept in memory when {@code tictactoe.store.mode=MEMORY}. Moves mutate the in-memory
+ * state and are handed to the {@link WriteBehindFlusher}; the database catches up in batches. Games are
+ * loaded on their first move, evicted once their final move is durable, and reloaded on startup. A game
+ * whose writes keep failing is degraded: it refuses further moves until its queued ones are durable, is
+ * then evicted, and is played through the database from then on.
+ */
+@Slf4j
+@Component
+public class ActiveGameStore {
+
+    public enum Mode {
+        DATABASE,
+        MEMORY
+    }
+
+    private static final List<GameStatus> RUNNING = List.of(GameStatus.PLAYER_X_TURN, GameStatus.PLAYER_O_TURN);
+
+    private final Mode mode;
+    private final boolean acknowledge;
+    private final long acknowledgeTimeoutMillis;
+    private final int maxPendingWrites;
+    private final GameRepository gameRepository;
+    private final MoveRepository moveRepository;
+    private final WriteBehindFlusher flusher;
+    private final Map<Long, ActiveGame> games = new ConcurrentHashMap<>();
+    private final Set<Long> databaseOnly = ConcurrentHashMap.newKeySet();
+
+    public ActiveGameStore(@Value("${tictactoe.store.mode:DATABASE}") Mode mode,
+                           @Value("${tictactoe.store.acknowledge:false}") boolean acknowledge,
+                           @Value("${tictactoe.store.acknowledge-timeout-ms:5000}") long acknowledgeTimeoutMillis,
+                           @Value("${tictactoe.store.max-pending-writes:100000}") int maxPendingWrites,
+                           GameRepository gameRepository,
+                           MoveRepository moveRepository,
+                           WriteBehindFlusher flusher) {
+        this.mode = mode;
+        this.acknowledge = acknowledge;
+        this.acknowledgeTimeoutMillis = acknowledgeTimeoutMillis;
+        this.maxPendingWrites = maxPendingWrites;
+        this.gameRepository = gameRepository;
+        this.moveRepository = moveRepository;
+        this.flusher = flusher;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        if (!isEnabled()) return;
+
+        for (Game game : gameRepository.findAllByGameStatusIn(RUNNING))
+            games.put(game.getId(), new ActiveGame(game, boardOf(game)));
+        flusher.start(this);
+        log.info("Loaded {} running games into the active-game store", games.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (isEnabled()) flusher.stop();
+    }
+
+    public boolean isEnabled() {
+        return mode == Mode.MEMORY;
+    }
+
+    /** The in-memory game, loading it if it is running; empty for unknown, waiting, finished or given-up games. */
+    public Optional<ActiveGame> acquire(Long gameId) {
+        ActiveGame game = games.get(gameId);
+        if (game != null) return Optional.of(game);
+        if (databaseOnly.contains(gameId)) return Optional.empty();
+
+        return gameRepository.findById(gameId)
+                .filter(g -> RUNNING.contains(g.getGameStatus()))
+                .map(g -> games.computeIfAbsent(gameId, id -> new ActiveGame(g, boardOf(g))));
+    }
+
+    public Optional<ActiveGame> find(Long gameId) {
+        return Optional.ofNullable(games.get(gameId));
+    }
+
+    /** Refuses a move with 503 while the write-behind queue is over its limit; call before applying the move. */
+    public void checkCapacity() {
+        if (flusher.pending() >= maxPendingWrites)
+            throw new ServiceUnavailableException("Too many moves waiting to be persisted, please retry");
+    }
+
+    /**
+     * Queues a move that has just been applied to {@code game}. Must be called while holding the game's
+     * monitor so moves reach the database in the order they were played.
+     */
+    public CompletableFuture<Void> record(ActiveGame game, Long playerId, int cell, Movement movement) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        flusher.enqueue(new PendingMove(game, playerId, cell, movement, game.getStatus(),
+                game.getBoard().pack(), game.getVersion(), durable));
+        return durable;
+    }
+
+    /**
+     * With {@code tictactoe.store.acknowledge} set, blocks until the move's batch has committed, or answers 503
+     * after {@code acknowledge-timeout-ms}; the move has been played either way and may still be written.
+     */
+    public void acknowledge(CompletableFuture<Void> durable) {
+        if (!acknowledge) return;
+
+        try {
+            durable.get(acknowledgeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Move was played but is not persisted yet");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the move to be persisted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Move could not be persisted", e.getCause());
+        }
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public int pendingWrites() {
+        return flusher.pending();
+    }
+
+    void flushed(long gameId, GameStatus status) {
+        if (RUNNING.contains(status)) return;
+
+        games.remove(gameId);
+        databaseOnly.remove(gameId);
+    }
+
+    /** Gives up on a game whose moves could not be written; it continues from the database's state. */
+    void abandon(ActiveGame game) {
+        // marked before it leaves the map, so acquire never reloads it
+        databaseOnly.add(game.getId());
+        game.degrade();
+        games.remove(game.getId(), game);
+        log.warn("Game {} falls back to the database after repeated write-behind failures", game.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameFinished(GameFinished event) {
+        databaseOnly.remove(event.gameId());
+    }
+
+    private GameBoard boardOf(Game game) {
+        GameBoard board = game.getBoard();
+        if (board != null) return board;
+
+        int[] archived = game.getArchivedMoves();
+        if (archived != null) return GameBoard.replay(game.getGeometry(), archived);
+
+        board = GameBoard.empty(game.getGeometry());
+        for (var move : moveRepository.findByGameId(game.getId()))
+            board = board.with(move.getMovementIndex(), move.getMovement());
+        return board;
+    }
+}
@@ -0,0 +1,75 @@
+package com.personio.tictactoe.store;
+
+import com.personio.tictactoe.events.GameFinished;
+import com.personio.tictactoe.exception.PlayerAlreadyInGameException;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Players currently in a game that is waiting for an opponent or being played, so checking a player is a
+ * hash lookup instead of a scan of {@code games}. A player is claimed atomically when they create, join or
+ * are matched into a game, and released once the move finishing it commits; a claim made inside a
+ * transaction that rolls back is released with it. Loaded from the database at startup and, like the
+ * other in-memory views, it assumes one application instance.
+ */
+@Slf4j
+@Component
+public class ActivePlayers {
+
+    public static final List<GameStatus> ACTIVE_STATUSES = List.of(
+            GameStatus.WAITING_FOR_OPPONENT,
+            GameStatus.PLAYER_X_TURN,
+            GameStatus.PLAYER_O_TURN
+    );
+
+    private final PlayerRepository playerRepository;
+    private final Set<Long> players = ConcurrentHashMap.newKeySet();
+
+    public ActivePlayers(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        players.addAll(playerRepository.findIdsInGames(ACTIVE_STATUSES));
+        log.info("Loaded {} players with an active game", players.size());
+    }
+
+    public boolean contains(Long playerId) {
+        return players.contains(playerId);
+    }
+
+    /** Marks the player as in a game, or throws if they already are. */
+    public void claim(Long playerId) {
+        if (!players.add(playerId))
+            throw new PlayerAlreadyInGameException(playerId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) release(playerId);
+                }
+            });
+    }
+
+    public void release(Long playerId) {
+        players.remove(playerId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameFinished(GameFinished event) {
+        release(event.initiatorId());
+        release(event.opponentId());
+    }
+}
@@ -0,0 +1,141 @@
+package com.personio.tictactoe.store;
+
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compacts finished games: the move rows of each game become one byte per move in
+ * {@code games.packed_moves}, and the rows are deleted. Finished games are never written again, so a
+ * background thread sweeps them every {@code interval-ms}, leaving games finished less than
+ * {@code min-age-ms} ago alone, and archives {@code batch-size} games per transaction. Readers that
+ * need the move sequence check {@link Game#getArchivedMoves()} before falling back to the rows.
+ */
+@Slf4j
+@Component
+public class GameArchiver {
+
+    private static final String CANDIDATES = """
+            select id, board_size, win_length, packed_board from games
+            where game_status in ('X_WON', 'O_WON', 'DRAW') and packed_moves is null
+              and (finished_at is null or finished_at < ?) and id > ?
+            order by id
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration minAge;
+    private final long intervalMillis;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public GameArchiver(JdbcTemplate jdbc,
+                        TransactionTemplate transaction,
+                        @Value("${tictactoe.archive.batch-size:500}") int batchSize,
+                        @Value("${tictactoe.archive.min-age-ms:3600000}") long minAgeMillis,
+                        @Value("${tictactoe.archive.interval-ms:60000}") long intervalMillis) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batch size must be positive");
+
+        this.jdbc = jdbc;
+        this.transaction = transaction;
+        this.batchSize = batchSize;
+        this.minAge = Duration.ofMillis(minAgeMillis);
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    synchronized void start() {
+        if (running || intervalMillis <= 0) return;
+
+        running = true;
+        worker = new Thread(this::run, "game-archiver");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        worker.interrupt();
+    }
+
+    /** Archives every game that finished before {@code cutoff}; returns how many were archived. */
+    public int archiveFinishedBefore(Instant cutoff) {
+        int archived = 0;
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            List<Candidate> batch = jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(CANDIDATES);
+                ps.setTimestamp(1, Timestamp.from(cutoff));
+                ps.setLong(2, after);
+                ps.setMaxRows(batchSize);
+                return ps;
+            }, (rs, row) -> new Candidate(rs.getLong(1), new Geometry(rs.getInt(2), rs.getInt(3)), rs.getBytes(4)));
+            if (batch.isEmpty()) return archived;
+
+            transaction.executeWithoutResult(status -> archive(batch));
+            archived += batch.size();
+            afterId = batch.get(batch.size() - 1).id();
+        }
+    }
+
+    private void archive(List<Candidate> batch) {
+        String ids = String.join(",", Collections.nCopies(batch.size(), "?"));
+        Object[] params = batch.stream().map(Candidate::id).toArray();
+
+        Map<Long, List<Integer>> moves = new HashMap<>();
+        jdbc.query("select game_id, movement_index from moves where game_id in (" + ids + ") order by game_id, id",
+                rs -> { moves.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getInt(2)); }, params);
+
+        // games older than the packed board get one too, so nothing needs the rows to rebuild the position
+        jdbc.batchUpdate("update games set packed_moves = ?, packed_board = ? where id = ? and packed_moves is null",
+                batch, batch.size(), (ps, game) -> {
+                    int[] cells = moves.getOrDefault(game.id(), List.of()).stream().mapToInt(Integer::intValue).toArray();
+                    ps.setBytes(1, Game.packMoves(cells));
+                    ps.setBytes(2, game.packedBoard() != null ? game.packedBoard()
+                            : GameBoard.replay(game.geometry(), cells).pack());
+                    ps.setLong(3, game.id());
+                });
+        jdbc.update("delete from moves where game_id in (" + ids + ")", params);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(intervalMillis);
+                int archived = archiveFinishedBefore(Instant.now().minus(minAge));
+                if (archived > 0) log.info("Archived the moves of {} finished games", archived);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Archiving finished games failed", e);
+            }
+        }
+    }
+
+    private record Candidate(long id, Geometry geometry, byte[] packedBoard) {
+    }
+}
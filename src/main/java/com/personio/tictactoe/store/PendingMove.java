@@ -0,0 +1,15 @@
+package com.personio.tictactoe.store;
+
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.model.enums.Movement;
+
+import java.util.concurrent.CompletableFuture;
+
+/** A move applied in memory and waiting to be written; {@code durable} completes once its batch commits. */
+record PendingMove(ActiveGame game, long playerId, int cell, Movement movement, GameStatus status, byte[] packedBoard,
+                   long version, CompletableFuture<Void> durable) {
+
+    long gameId() {
+        return game.getId();
+    }
+}
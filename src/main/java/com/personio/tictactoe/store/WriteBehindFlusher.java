@@ -0,0 +1,202 @@
+package com.personio.tictactoe.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single background thread that drains queued moves and writes each batch in one transaction: a JDBC
+ * batch insert into {@code moves} plus one update per game carrying its latest status and board.
+ * Acknowledgements complete after the commit. A failed batch is retried with exponential backoff ahead of
+ * everything queued behind it, so moves still reach the database in order. After {@value #MAX_ATTEMPTS}
+ * failed attempts it is split up and each game is written on its own: the games that still fail are given
+ * up, failing their acknowledgements and those of their moves still queued, and handed to the database
+ * path, so one bad game cannot hold up the others.
+ */
+@Slf4j
+@Component
+public class WriteBehindFlusher {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<PendingMove> queue = new LinkedBlockingQueue<>();
+
+    private volatile ActiveGameStore store;
+    private volatile boolean running;
+    private Thread worker;
+
+    public WriteBehindFlusher(JdbcTemplate jdbc,
+                              TransactionTemplate transaction,
+                              @Value("${tictactoe.store.batch-size:256}") int batchSize,
+                              @Value("${tictactoe.store.flush-interval-ms:5}") long flushIntervalMillis,
+                              @Value("${tictactoe.store.retry-backoff-ms:50}") long retryBackoffMillis) {
+        this.jdbc = jdbc;
+        this.transaction = transaction;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    synchronized void start(ActiveGameStore store) {
+        if (running) return;
+
+        this.store = store;
+        this.running = true;
+        this.worker = new Thread(this::run, "write-behind-flusher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Stops taking new batches; the worker writes whatever is still queued before it exits. */
+    synchronized void stop() {
+        if (!running) return;
+
+        // no interrupt: it would abort a JDBC write in flight; the worker notices within one poll interval
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive())
+            log.warn("Write-behind flusher still busy at shutdown with {} moves queued", queue.size());
+    }
+
+    void enqueue(PendingMove move) {
+        queue.add(move);
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<PendingMove> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingMove first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // drained here rather than by stop() so moves are never written by two threads at once
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        List<PendingMove> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingMove> batch) {
+        // moves queued before their game was given up build on moves that were never written
+        List<PendingMove> live = new ArrayList<>(batch.size());
+        for (PendingMove move : batch) {
+            if (move.game().isDegraded())
+                move.durable().completeExceptionally(new IllegalStateException("Game " + move.gameId() + " was given up"));
+            else live.add(move);
+        }
+        if (live.isEmpty()) return;
+
+        long backoff = retryBackoffMillis;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                persist(live);
+                flushed(live);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Write-behind batch of {} moves failed (attempt {}/{})", live.size(), attempt, MAX_ATTEMPTS, e);
+                if (attempt < MAX_ATTEMPTS) {
+                    sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                }
+            }
+        }
+
+        Map<Long, List<PendingMove>> byGame = new LinkedHashMap<>();
+        for (PendingMove move : live) byGame.computeIfAbsent(move.gameId(), id -> new ArrayList<>()).add(move);
+        for (List<PendingMove> moves : byGame.values()) {
+            try {
+                persist(moves);
+                flushed(moves);
+            } catch (RuntimeException e) {
+                ActiveGame game = moves.get(0).game();
+                log.error("Giving up on {} unwritten moves of game {}", moves.size(), game.getId(), e);
+                for (PendingMove move : moves) move.durable().completeExceptionally(e);
+                store.abandon(game);
+            }
+        }
+    }
+
+    private void flushed(List<PendingMove> moves) {
+        for (PendingMove move : moves) move.durable().complete(null);
+        for (PendingMove move : latest(moves).values()) store.flushed(move.gameId(), move.status());
+    }
+
+    /** Only the last state of each game needs writing. */
+    private static Map<Long, PendingMove> latest(List<PendingMove> moves) {
+        Map<Long, PendingMove> latest = new LinkedHashMap<>();
+        for (PendingMove move : moves) latest.put(move.gameId(), move);
+        return latest;
+    }
+
+    private void persist(List<PendingMove> batch) {
+        Map<Long, PendingMove> latest = latest(batch);
+        transaction.executeWithoutResult(status -> {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            jdbc.batchUpdate(
+                    "insert into moves (game_id, player_id, movement_index, movement) values (?, ?, ?, ?)",
+                    batch, batch.size(), (ps, m) -> {
+                        ps.setLong(1, m.gameId());
+                        ps.setLong(2, m.playerId());
+                        ps.setInt(3, m.cell());
+                        ps.setString(4, m.movement().name());
+                    });
+            jdbc.batchUpdate(
+                    "update games set game_status = ?, packed_board = ?, version = ?, finished_at = coalesce(finished_at, ?) where id = ?",
+                    latest.values(), latest.size(), (ps, m) -> {
+                        ps.setString(1, m.status().name());
+                        ps.setBytes(2, m.packedBoard());
+                        ps.setLong(3, m.version());
+                        ps.setTimestamp(4, m.status().isFinished() ? now : null);
+                        ps.setLong(5, m.gameId());
+                    });
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.events.GameFinished;
+import com.personio.tictactoe.exception.PlayerAlreadyInGameException;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.store.ActivePlayers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class ActivePlayersTest {
+
+    @Mock private PlayerRepository playerRepository;
+    @InjectMocks private ActivePlayers activePlayers;
+
+    @Test
+    void a_player_is_claimed_once_until_their_game_finishes() {
+        activePlayers.claim(1L);
+        activePlayers.claim(2L);
+
+        assertThatThrownBy(() -> activePlayers.claim(1L)).isInstanceOf(PlayerAlreadyInGameException.class);
+
+        activePlayers.onGameFinished(new GameFinished(7L, 1L, "Ann", 2L, "Ben", GameStatus.DRAW));
+
+        assertThat(activePlayers.contains(1L)).isFalse();
+        assertThat(activePlayers.contains(2L)).isFalse();
+    }
+
+    @Test
+    void a_claim_is_released_when_its_transaction_rolls_back() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activePlayers.claim(1L);
+            assertThat(activePlayers.contains(1L)).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(activePlayers.contains(1L)).isFalse();
+    }
+}
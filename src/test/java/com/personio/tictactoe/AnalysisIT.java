@@ -0,0 +1,76 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: a coach submits a batch mixing symmetric copies of a position with unreadable boards;
+ * every board gets an answer in request order, in its own orientation.
+ */
+@SpringBootTest(properties = "tictactoe.analysis.chunk-size=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnalysisIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+
+    @Test
+    void analyzes_a_batch_in_request_order() throws Exception {
+        // the second board is the first mirrored left to right
+        List<String> boards = List.of("XX_OO____", "_XX_OO___", "XXXXX____", "_________", "XX_OO____", "X___O____");
+
+        JsonNode results = analyze(mapper.writeValueAsString(boards));
+
+        assertThat(results).hasSize(6);
+        for (int i = 0; i < boards.size(); i++)
+            assertThat(results.get(i).get("board").asText()).isEqualTo(boards.get(i));
+
+        assertThat(results.get(0).get("bestMove").asInt()).isEqualTo(2);
+        assertThat(results.get(0).get("value").asInt()).isEqualTo(1);
+        assertThat(results.get(1).get("bestMove").asInt()).isZero();
+        assertThat(results.get(1).get("value").asInt()).isEqualTo(1);
+        assertThat(results.get(1).get("scores").get(0).asInt()).isEqualTo(1);
+        assertThat(results.get(1).get("scores").get(3).asInt()).isZero();
+        assertThat(results.get(1).get("scores").get(8).asInt()).isEqualTo(-1);
+        assertThat(results.get(2).get("error").asText()).contains("as many marks");
+        assertThat(results.get(2).has("bestMove")).isFalse();
+        assertThat(results.get(3).get("value").asInt()).isZero();
+        assertThat(results.get(4)).isEqualTo(results.get(0));
+        assertThat(results.get(5).get("value").asInt()).isZero();
+    }
+
+    @Test
+    void rejects_a_body_that_is_not_an_array() throws Exception {
+        mockMvc.perform(post("/analysis/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"boards\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode analyze(String body) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/analysis/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.getAsyncResult(10_000);
+        return mapper.readTree(pending.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import com.personio.tictactoe.util.BoardEvaluator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardTest {
+
+    @Test
+    void with_places_token_without_mutating_original() {
+        Board board = Board.EMPTY.with(4, Movement.X);
+
+        assertThat(Board.EMPTY.isEmpty(4)).isTrue();
+        assertThat(board.at(4)).isEqualTo(Movement.X);
+        assertThat(board.toMove()).isEqualTo(Movement.O);
+        assertThat(board.encode()).isEqualTo("____X____");
+    }
+
+    @Test
+    void detects_winner_and_draw() {
+        assertThat(BoardEvaluator.winner(Board.parse("XXXOO____"))).contains(Movement.X);
+        assertThat(BoardEvaluator.winner(Board.parse("XX_OOOX__"))).contains(Movement.O);
+        assertThat(BoardEvaluator.winner(Board.parse("XO_______"))).isEmpty();
+
+        Board draw = Board.parse("XOXXOOOXX");
+        assertThat(BoardEvaluator.isDraw(draw)).isTrue();
+        assertThat(draw.isFinished()).isTrue();
+        assertThat(BoardEvaluator.isDraw(Board.parse("XXXOOXOOX"))).isFalse();
+    }
+
+    @Test
+    void parse_round_trips_and_rejects_bad_input() {
+        assertThat(Board.parse("X_O_X_O__").encode()).isEqualTo("X_O_X_O__");
+
+        assertThatThrownBy(() -> Board.parse("X")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Board(1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pack_round_trips_on_every_geometry_size() {
+        Board classic = Board.parse("X_O_X_O__");
+        assertThat(classic.pack()).hasSize(3);
+        assertThat(GameBoard.unpack(Geometry.CLASSIC, classic.pack())).isEqualTo(classic);
+
+        Geometry gomoku = new Geometry(15, 5);
+        GameBoard grid = GameBoard.empty(gomoku).with(0, Movement.X).with(112, Movement.O).with(224, Movement.X);
+        assertThat(grid.pack()).hasSize(GameBoard.MAX_PACKED_BYTES);
+        assertThat(GameBoard.unpack(gomoku, grid.pack())).isEqualTo(grid);
+
+        assertThatThrownBy(() -> GameBoard.unpack(gomoku, classic.pack())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
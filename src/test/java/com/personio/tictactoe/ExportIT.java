@@ -0,0 +1,113 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameCreationRequest;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: X wins a game; an export made within the grace period leaves it out. Once the grace period
+ * has passed, an export from before the game finished contains it with its moves in playing order, as
+ * NDJSON and as CSV, and an export from after it does not.
+ */
+@SpringBootTest(properties = "tictactoe.exports.grace-ms=1000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+
+    @Test
+    void exports_finished_games_since_a_watermark() throws Exception {
+        Instant before = Instant.now().minusSeconds(1);
+        Long x = register("ExportX");
+        Long o = register("ExportO");
+        long gameId = playWonGame(x, o);
+
+        assertThat(export("since", before.toString()))
+                .noneMatch(line -> readTree(line).get("id").asLong() == gameId);
+        Thread.sleep(1_100);
+
+        List<String> lines = export("since", before.toString());
+        JsonNode game = lines.stream().map(this::readTree)
+                .filter(line -> line.get("id").asLong() == gameId)
+                .findFirst().orElseThrow();
+        assertThat(game.get("gameStatus").asText()).isEqualTo("X_WON");
+        assertThat(game.get("initiatorId").asLong()).isEqualTo(x);
+        assertThat(game.get("opponentId").asLong()).isEqualTo(o);
+        assertThat(game.get("moves").toString()).isEqualTo("[0,3,1,4,2]");
+
+        Instant finishedAt = Instant.parse(game.get("finishedAt").asText());
+        assertThat(finishedAt).isAfter(before);
+        assertThat(export("since", finishedAt.plusMillis(1).toString()))
+                .noneMatch(line -> readTree(line).get("id").asLong() == gameId);
+
+        List<String> csv = export("since", before.toString(), "format", "CSV");
+        assertThat(csv.get(0)).startsWith("id,gameStatus,");
+        assertThat(csv).anyMatch(line -> line.startsWith(gameId + ",X_WON,") && line.endsWith("," + x + "," + o + ",,0 3 1 4 2"));
+    }
+
+    private List<String> export(String... params) throws Exception {
+        var export = get("/exports/games");
+        for (int i = 0; i < params.length; i += 2) export.param(params[i], params[i + 1]);
+        MvcResult pending = mockMvc.perform(export)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.getAsyncResult(10_000);
+        return pending.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private long playWonGame(Long x, Long o) throws Exception {
+        long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        int[][] moves = {{0, 0}, {1, 3}, {0, 1}, {1, 4}, {0, 2}};
+        for (int[] m : moves)
+            mockMvc.perform(post("/games/{id}/moves", gameId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsBytes(new PlayMoveRequest()
+                                    .setPlayerId(m[0] == 0 ? x : o).setMovementIndex(m[1]))))
+                    .andExpect(status().isOk());
+        return gameId;
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return mapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}
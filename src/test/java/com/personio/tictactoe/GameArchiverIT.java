@@ -0,0 +1,90 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameCreationRequest;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.repository.GameRepository;
+import com.personio.tictactoe.repository.MoveRepository;
+import com.personio.tictactoe.store.GameArchiver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: X wins a game which is then archived; its move rows are gone, and the game view and the
+ * export read the packed moves instead.
+ */
+@SpringBootTest(properties = "tictactoe.exports.grace-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameArchiverIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+    @Autowired private GameArchiver archiver;
+    @Autowired private GameRepository gameRepository;
+    @Autowired private MoveRepository moveRepository;
+
+    @Test
+    void archived_game_reads_the_same() throws Exception {
+        Long x = register("ArchivedX");
+        Long o = register("ArchivedO");
+        long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        int[][] moves = {{0, 0}, {1, 3}, {0, 1}, {1, 4}, {0, 2}};
+        for (int[] m : moves)
+            mockMvc.perform(post("/games/{id}/moves", gameId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsBytes(new PlayMoveRequest()
+                                    .setPlayerId(m[0] == 0 ? x : o).setMovementIndex(m[1]))))
+                    .andExpect(status().isOk());
+        assertThat(moveRepository.findByGameId(gameId)).hasSize(5);
+
+        assertThat(archiver.archiveFinishedBefore(Instant.now().plusSeconds(1))).isPositive();
+
+        assertThat(moveRepository.findByGameId(gameId)).isEmpty();
+        Game archived = gameRepository.findById(gameId).orElseThrow();
+        assertThat(archived.getArchivedMoves()).containsExactly(0, 3, 1, 4, 2);
+        assertThat(archiver.archiveFinishedBefore(Instant.now().plusSeconds(1))).isZero();
+
+        mockMvc.perform(get("/games/{id}", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameStatus").value("X_WON"));
+
+        MvcResult export = mockMvc.perform(get("/exports/games"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        export.getAsyncResult(10_000);
+        assertThat(export.getResponse().getContentAsString(StandardCharsets.UTF_8).lines())
+                .anyMatch(line -> line.startsWith("{\"id\":" + gameId + ",") && line.contains("\"moves\":[0,3,1,4,2]"));
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}
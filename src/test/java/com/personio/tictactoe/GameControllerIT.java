@@ -2,6 +2,7 @@ package com.personio.tictactoe;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.AiMoveRequest;
 import com.personio.tictactoe.dto.GameCreationRequest;
 import com.personio.tictactoe.dto.PlayerRegistrationRequest;
 import com.personio.tictactoe.dto.GameResponse;
@@ -13,8 +14,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +33,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 class GameControllerIT {
 
+    private static final AtomicInteger REGISTRATIONS = new AtomicInteger();
+
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper mapper;
     private Long aliceId;
@@ -63,10 +68,32 @@ class GameControllerIT {
                 .andExpect(jsonPath("$.opponentId").value(bobId));
     }
 
+    @Test
+    void ai_reply_is_served_asynchronously() throws Exception {
+        String gameJson = mockMvc.perform(post("/games/ai")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsBytes(new GameCreationRequest(aliceId))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        GameResponse game = mapper.readValue(gameJson, GameResponse.class);
+
+        MvcResult pending = mockMvc.perform(post("/games/ai/moves")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsBytes(new AiMoveRequest(game.id(), aliceId, 4))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameStatus").value("PLAYER_X_TURN"))
+                .andExpect(jsonPath("$.aiMoveIndex").value(0));
+    }
+
+    // player names are unique and every test registers its own players
     private Long registerPlayer(String name) throws Exception {
         String res = mockMvc.perform(post("/players")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name + REGISTRATIONS.incrementAndGet()))))
                 .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
         return mapper.readTree(res).get("id").asLong();
     }
@@ -0,0 +1,90 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameCreationRequest;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scenario: O subscribes to the game's event stream, gets the current board straight away and then
+ * X's move as soon as it commits, without polling.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameEventsIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+
+    @Test
+    void subscriber_receives_the_snapshot_then_each_committed_move() throws Exception {
+        Long x = register("EventsX");
+        Long o = register("EventsO");
+        Long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        MockHttpServletResponse stream = mockMvc.perform(get("/games/{id}/events", gameId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        assertThat(awaitContent(stream, "event:game")).contains("id:1").contains("\"gameStatus\":\"PLAYER_X_TURN\"");
+
+        move(gameId, x, 4).andExpect(status().isOk());
+
+        assertThat(awaitContent(stream, "event:update"))
+                .contains("id:2")
+                .contains("\"gameStatus\":\"PLAYER_O_TURN\"");
+
+        mockMvc.perform(get("/games/{id}/events", 999_999L)).andExpect(status().isNotFound());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = response.getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private ResultActions move(Long gameId, Long playerId, int cell) throws Exception {
+        return mockMvc.perform(post("/games/{gameId}/moves", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(playerId).setMovementIndex(cell))));
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}
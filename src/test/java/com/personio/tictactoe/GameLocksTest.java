@@ -0,0 +1,73 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.exception.ConflictException;
+import com.personio.tictactoe.locking.GameLocks;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameLocksTest {
+
+    @Mock private GameRepository gameRepository;
+    @Mock private TransactionTemplate transaction;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final Game game = new Game().setId(7L);
+
+    @BeforeEach
+    void setUp() {
+        when(transaction.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(gameRepository.findById(7L)).thenReturn(Optional.of(game));
+    }
+
+    @Test
+    void optimistic_retries_a_stale_version_and_rereads_the_game() {
+        GameLocks locks = optimistic(3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = locks.withGame(7L, g -> {
+            if (attempts.incrementAndGet() == 1)
+                throw new ObjectOptimisticLockingFailureException(Game.class, 7L);
+            return "played";
+        });
+
+        assertThat(result).isEqualTo("played");
+        verify(gameRepository, times(2)).findById(7L);
+        verify(gameRepository, never()).findByIdForUpdate(any());
+        assertThat(meters.counter("tictactoe.moves.lock.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void optimistic_reports_a_conflict_once_attempts_run_out() {
+        GameLocks locks = optimistic(2);
+
+        assertThatThrownBy(() -> locks.withGame(7L, g -> {
+            throw new DataIntegrityViolationException("uk_move_player_game_idx");
+        })).isInstanceOf(ConflictException.class)
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+
+        verify(gameRepository, times(2)).findById(7L);
+    }
+
+    private GameLocks optimistic(int maxAttempts) {
+        return new GameLocks(GameLocks.Strategy.OPTIMISTIC, 0, maxAttempts, 1, gameRepository, transaction, meters);
+    }
+}
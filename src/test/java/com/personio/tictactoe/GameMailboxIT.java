@@ -0,0 +1,85 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameCreationRequest;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import com.personio.tictactoe.repository.MoveRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: with mailbox locking, X sends the same turn many times at once; exactly one move is
+ * accepted and the wait it took is reported as a metric.
+ */
+@SpringBootTest(properties = {"tictactoe.locking.strategy=MAILBOX", "tictactoe.locking.mailbox-lanes=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameMailboxIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+    @Autowired private MoveRepository moveRepository;
+
+    @Test
+    void concurrent_moves_on_one_game_are_applied_one_at_a_time() throws Exception {
+        Long x = register("MailboxX");
+        Long o = register("MailboxO");
+        Long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int cell = 0; cell < 8; cell++) {
+            byte[] body = mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(x).setMovementIndex(cell));
+            statuses.add(clients.submit(() -> mockMvc.perform(post("/games/{gameId}/moves", gameId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andReturn().getResponse().getStatus()));
+        }
+
+        int accepted = 0;
+        for (Future<Integer> s : statuses)
+            if (s.get() == 200) accepted++;
+        clients.shutdown();
+
+        assertThat(accepted).isEqualTo(1);
+        assertThat(moveRepository.findByGameId(gameId)).hasSize(1);
+
+        mockMvc.perform(get("/actuator/metrics/tictactoe.moves.lock.wait").param("tag", "strategy:mailbox"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").isNotEmpty());
+        mockMvc.perform(get("/actuator/metrics/tictactoe.mailbox.queue.depth"))
+                .andExpect(status().isOk());
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}
@@ -1,27 +1,38 @@
 package com.personio.tictactoe;
 
+import com.personio.tictactoe.dto.AiMoveRequest;
+import com.personio.tictactoe.events.LobbyChange;
+import com.personio.tictactoe.exception.PlayerAlreadyInGameException;
+import com.personio.tictactoe.exception.ServiceUnavailableException;
 import com.personio.tictactoe.model.Game;
 import com.personio.tictactoe.model.Player;
 import com.personio.tictactoe.model.enums.GameStatus;
 import com.personio.tictactoe.repository.GameRepository;
 import com.personio.tictactoe.repository.PlayerRepository;
 import com.personio.tictactoe.service.GameService;
+import com.personio.tictactoe.service.MoveService;
+import com.personio.tictactoe.store.ActivePlayers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
 
     @Mock private GameRepository gameRepository;
     @Mock private PlayerRepository playerRepository;
+    @Mock private ApplicationEventPublisher events;
+    @Mock private ActivePlayers activePlayers;
+    @Mock private MoveService moveService;
     @InjectMocks private GameService gameService;
 
     private Player initiator;
@@ -45,5 +56,23 @@ class GameServiceTest {
 
         assertThat(result.getId()).isEqualTo(9L);
         assertThat(result.getGameStatus()).isEqualTo(GameStatus.WAITING_FOR_OPPONENT);
+        verify(events).publishEvent(new LobbyChange.Opened(stored));
+        verify(activePlayers).claim(5L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createGame_rejects_player_already_in_a_game() {
+        doThrow(new PlayerAlreadyInGameException(5L)).when(activePlayers).claim(5L);
+
+        assertThatThrownBy(() -> gameService.createGame(5L)).isInstanceOf(PlayerAlreadyInGameException.class);
+        verifyNoInteractions(gameRepository, events);
+    }
+
+    @Test
+    void playMoveVsAi_plays_nothing_once_the_request_has_expired() {
+        assertThatThrownBy(() -> gameService.playMoveVsAi(new AiMoveRequest(9L, 5L, 4), () -> true))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        verifyNoInteractions(moveService);
+    }
+}
@@ -0,0 +1,125 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.ai.GridAiEngine;
+import com.personio.tictactoe.ai.SearchBudget;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class GridAiEngineTest {
+
+    private final GridAiEngine engine = new GridAiEngine(8, 1000, 12, 1 << 16, 1);
+
+    @Test
+    void completes_own_line_on_4x4() {
+        GameBoard board = GameBoard.parse(new Geometry(4, 4),
+                "XXX_" +
+                "OO__" +
+                "O___" +
+                "____");
+
+        assertThat(engine.computeBestMove(board, Movement.X)).isEqualTo(3);
+    }
+
+    @Test
+    void blocks_opponent_four_in_a_row_on_5x5() {
+        GameBoard board = GameBoard.parse(new Geometry(5, 4),
+                "OOO__" +
+                "_X___" +
+                "__X__" +
+                "_____" +
+                "_____");
+
+        assertThat(engine.computeBestMove(board, Movement.X)).isEqualTo(3);
+    }
+
+    @Test
+    void answers_gomoku_positions_within_the_time_limit() {
+        GridAiEngine fast = new GridAiEngine(12, 200, 12, 1 << 16, 2);
+        GameBoard board = GameBoard.empty(new Geometry(15, 5))
+                .with(112, Movement.X)
+                .with(113, Movement.O)
+                .with(97, Movement.X);
+
+        try {
+            int move = assertTimeout(Duration.ofSeconds(2), () -> fast.computeBestMove(board, Movement.O));
+
+            assertThat(move).isBetween(0, 224);
+            assertThat(board.isEmpty(move)).isTrue();
+        } finally {
+            fast.shutdown();
+        }
+    }
+
+    @Test
+    void self_play_on_classic_geometry_is_a_draw() {
+        GameBoard board = GameBoard.empty(Geometry.CLASSIC);
+
+        while (!board.isFinished()) {
+            Movement side = board.toMove();
+            board = board.with(engine.computeBestMove(board, side), side);
+        }
+
+        assertThat(board.isDraw()).isTrue();
+    }
+
+    @Test
+    void parallel_root_split_finds_the_same_tactics() {
+        GridAiEngine parallel = new GridAiEngine(8, 1000, 12, 1 << 16, 4);
+        GameBoard board = GameBoard.parse(new Geometry(5, 4),
+                "OOO__" +
+                "_X___" +
+                "__X__" +
+                "_____" +
+                "_____");
+
+        try {
+            assertThat(parallel.parallelism()).isEqualTo(4);
+            assertThat(parallel.computeBestMove(board, Movement.X)).isEqualTo(3);
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void cancelled_search_still_returns_a_legal_move() {
+        GridAiEngine deep = new GridAiEngine(30, 600_000, 16, 1 << 16, 1);
+        GameBoard board = GameBoard.empty(new Geometry(15, 5))
+                .with(112, Movement.X)
+                .with(113, Movement.O);
+        long start = System.nanoTime();
+
+        int move = assertTimeout(Duration.ofSeconds(2), () -> deep.computeBestMove(board, Movement.X,
+                deep.defaultBudget().cancelledWhen(() -> System.nanoTime() - start > 50_000_000)));
+
+        assertThat(board.isEmpty(move)).isTrue();
+    }
+
+    @Test
+    void node_budget_bounds_the_search() {
+        GridAiEngine deep = new GridAiEngine(30, 600_000, 16, 1 << 16, 1);
+        GameBoard board = GameBoard.empty(new Geometry(9, 5)).with(40, Movement.X);
+
+        int move = assertTimeout(Duration.ofSeconds(2),
+                () -> deep.computeBestMove(board, Movement.O, SearchBudget.nodes(10_000)));
+
+        assertThat(board.isEmpty(move)).isTrue();
+    }
+
+    @Test
+    void finished_board_has_no_move() {
+        GameBoard won = GameBoard.parse(new Geometry(4, 3),
+                "XXX_" +
+                "OO__" +
+                "____" +
+                "____");
+
+        assertThat(engine.computeBestMove(won, Movement.O)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameCreationRequest;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.stats.Leaderboard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: X wins a game; both players' counters are incremented in the database and the winner is
+ * ranked above the loser on the leaderboard.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LeaderboardIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+    @Autowired private Leaderboard leaderboard;
+    @Autowired private PlayerRepository playerRepository;
+
+    @Test
+    void finished_game_updates_counters_and_ranking() throws Exception {
+        Long x = register("RankedX");
+        Long o = register("RankedO");
+        Long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/leaderboard/{id}", x)).andExpect(status().isNotFound());
+
+        int[][] moves = {{0, 0}, {1, 3}, {0, 1}, {1, 4}, {0, 2}};
+        for (int[] m : moves)
+            mockMvc.perform(post("/games/{id}/moves", gameId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsBytes(new PlayMoveRequest()
+                                    .setPlayerId(m[0] == 0 ? x : o).setMovementIndex(m[1]))))
+                    .andExpect(status().isOk());
+
+        awaitRanked(o);
+
+        Player winner = playerRepository.findById(x).orElseThrow();
+        assertThat(winner.getTotalGames()).isEqualTo(1);
+        assertThat(winner.getWins()).isEqualTo(1);
+        assertThat(playerRepository.findById(o).orElseThrow().getLoss()).isEqualTo(1);
+
+        int winnerRank = mapper.readTree(mockMvc.perform(get("/leaderboard/{id}", x))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("RankedX"))
+                .andExpect(jsonPath("$.rating").value(2))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("rank").asInt();
+        mockMvc.perform(get("/leaderboard/{id}", o))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loss").value(1))
+                .andExpect(jsonPath("$.rank").value(greaterThan(winnerRank)));
+
+        mockMvc.perform(get("/leaderboard").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].rank").value(1));
+    }
+
+    private void awaitRanked(Long playerId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (leaderboard.statsOf(playerId).isEmpty() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertThat(leaderboard.statsOf(playerId)).isPresent();
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}
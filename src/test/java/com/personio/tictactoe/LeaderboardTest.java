@@ -0,0 +1,57 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.dto.LeaderboardEntry;
+import com.personio.tictactoe.repository.PlayerRepository;
+import com.personio.tictactoe.stats.Leaderboard;
+import com.personio.tictactoe.stats.PlayerStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+    @Mock private PlayerRepository playerRepository;
+    @InjectMocks private Leaderboard leaderboard;
+
+    @Test
+    void ranks_by_rating_and_shares_ranks_on_ties() {
+        leaderboard.update(new PlayerStats(1L, "Ann", 3, 1, 1, 1));   // 3
+        leaderboard.update(new PlayerStats(2L, "Ben", 2, 2, 0, 0));   // 4
+        leaderboard.update(new PlayerStats(3L, "Cid", 3, 0, 0, 3));   // 3
+        leaderboard.update(new PlayerStats(4L, "Dan", 1, 0, 1, 0));   // 0
+
+        assertThat(leaderboard.top(10)).extracting(LeaderboardEntry::playerId).containsExactly(2L, 1L, 3L, 4L);
+        assertThat(leaderboard.top(10)).extracting(LeaderboardEntry::rank).containsExactly(1, 2, 2, 4);
+        assertThat(leaderboard.top(2)).hasSize(2);
+        assertThat(leaderboard.entryOf(4L)).hasValueSatisfying(e -> assertThat(e.rank()).isEqualTo(4));
+        assertThat(leaderboard.entryOf(5L)).isEmpty();
+    }
+
+    @Test
+    void replacing_a_players_stats_moves_them() {
+        leaderboard.update(new PlayerStats(1L, "Ann", 1, 1, 0, 0));
+        leaderboard.update(new PlayerStats(2L, "Ben", 1, 0, 1, 0));
+
+        leaderboard.update(new PlayerStats(2L, "Ben", 3, 2, 1, 0));
+
+        assertThat(leaderboard.size()).isEqualTo(2);
+        assertThat(leaderboard.top(1)).extracting(LeaderboardEntry::name).containsExactly("Ben");
+        assertThat(leaderboard.entryOf(1L)).hasValueSatisfying(e -> assertThat(e.rank()).isEqualTo(2));
+    }
+
+    @Test
+    void ranks_ratings_beyond_the_initial_capacity() {
+        leaderboard.update(new PlayerStats(1L, "Ann", 500, 500, 0, 0));
+        leaderboard.update(new PlayerStats(2L, "Ben", 100, 40, 60, 0));
+        leaderboard.update(new PlayerStats(3L, "Cid", 200, 150, 50, 0));
+
+        assertThat(leaderboard.entryOf(1L)).hasValueSatisfying(e -> assertThat(e.rank()).isEqualTo(1));
+        assertThat(leaderboard.entryOf(3L)).hasValueSatisfying(e -> assertThat(e.rank()).isEqualTo(2));
+        assertThat(leaderboard.entryOf(2L)).hasValueSatisfying(e -> assertThat(e.rank()).isEqualTo(3));
+    }
+}
@@ -0,0 +1,75 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.MatchmakingRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scenario: one player waits in matchmaking, the next one for the same board is paired with them and
+ * both get the same running game; the first to arrive plays X.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatchmakingIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+
+    @Test
+    void two_waiting_players_are_paired_into_one_game() throws Exception {
+        Long first = register("MatchFirst");
+        Long second = register("MatchSecond");
+
+        MvcResult parked = seek(first);
+        MvcResult paired = seek(second);
+
+        JsonNode firstGame = created(parked);
+        JsonNode secondGame = created(paired);
+
+        assertThat(firstGame.get("id")).isEqualTo(secondGame.get("id"));
+        assertThat(firstGame.get("status").asText()).isEqualTo("PLAYER_X_TURN");
+        assertThat(firstGame.get("initiatorId").asLong()).isEqualTo(first);
+        assertThat(firstGame.get("opponentId").asLong()).isEqualTo(second);
+    }
+
+    private MvcResult seek(Long playerId) throws Exception {
+        return mockMvc.perform(post("/matchmaking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new MatchmakingRequest(playerId))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private JsonNode created(MvcResult result) throws Exception {
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(body);
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}
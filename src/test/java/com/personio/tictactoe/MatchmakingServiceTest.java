@@ -0,0 +1,98 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.exception.ConflictException;
+import com.personio.tictactoe.exception.PlayerAlreadyInGameException;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.Player;
+import com.personio.tictactoe.service.GameService;
+import com.personio.tictactoe.service.MatchmakingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchmakingServiceTest {
+
+    @Mock private GameService gameService;
+    @InjectMocks private MatchmakingService matchmaking;
+
+    @Test
+    void concurrent_seekers_are_paired_exactly_once() throws Exception {
+        when(gameService.createMatchedGame(any(), any(), any())).thenAnswer(inv -> new Game()
+                .setInitiator(new Player().setId(inv.getArgument(0)))
+                .setOpponent(new Player().setId(inv.getArgument(1))));
+
+        int players = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<MatchmakingService.Ticket>> tickets = new ArrayList<>();
+        for (long id = 1; id <= players; id++) {
+            long playerId = id;
+            tickets.add(pool.submit(() -> matchmaking.enqueue(playerId, Geometry.CLASSIC)));
+        }
+
+        Set<Long> seated = new HashSet<>();
+        for (Future<MatchmakingService.Ticket> t : tickets) {
+            Game game = t.get().game().getNow(null);
+            if (game == null) continue;
+            seated.add(game.getInitiator().getId());
+            seated.add(game.getOpponent().getId());
+        }
+        pool.shutdown();
+
+        verify(gameService, times(players / 2)).createMatchedGame(any(), any(), any());
+        assertThat(seated).hasSize(players);
+    }
+
+    @Test
+    void cancelled_ticket_is_not_matched() {
+        MatchmakingService.Ticket ticket = matchmaking.enqueue(1L, Geometry.CLASSIC);
+
+        assertThat(matchmaking.cancel(ticket)).isTrue();
+        assertThat(ticket.game()).isCompletedWithValue(null);
+
+        MatchmakingService.Ticket next = matchmaking.enqueue(2L, Geometry.CLASSIC);
+        assertThat(next.game()).isNotDone();
+        verify(gameService, never()).createMatchedGame(any(), any(), any());
+    }
+
+    @Test
+    void player_already_queued_cannot_queue_again() {
+        matchmaking.enqueue(1L, Geometry.CLASSIC);
+
+        assertThatThrownBy(() -> matchmaking.enqueue(1L, new Geometry(4, 3)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void partner_of_a_player_already_in_a_game_is_queued_again() {
+        Game game = new Game();
+        when(gameService.createMatchedGame(1L, 2L, Geometry.CLASSIC)).thenThrow(new PlayerAlreadyInGameException(2L));
+        when(gameService.createMatchedGame(1L, 3L, Geometry.CLASSIC)).thenReturn(game);
+
+        MatchmakingService.Ticket waiting = matchmaking.enqueue(1L, Geometry.CLASSIC);
+        MatchmakingService.Ticket busy = matchmaking.enqueue(2L, Geometry.CLASSIC);
+
+        assertThat(busy.game()).isCompletedExceptionally();
+        assertThat(waiting.game()).isNotDone();
+
+        MatchmakingService.Ticket next = matchmaking.enqueue(3L, Geometry.CLASSIC);
+        assertThat(waiting.game()).isCompletedWithValue(game);
+        assertThat(next.game()).isCompletedWithValue(game);
+    }
+}
@@ -0,0 +1,79 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.ai.MctsEngine;
+import com.personio.tictactoe.ai.SearchBudget;
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.GameBoard;
+import com.personio.tictactoe.model.Geometry;
+import com.personio.tictactoe.model.enums.Movement;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class MctsEngineTest {
+
+    private final MctsEngine engine = new MctsEngine(5_000, 1000, 1);
+
+    @Test
+    void takes_an_immediate_win() {
+        GameBoard board = GameBoard.parse(new Geometry(5, 4),
+                "XXX__" +
+                "OO___" +
+                "O____" +
+                "_____" +
+                "_____");
+
+        assertThat(engine.computeBestMove(board, Movement.X)).isEqualTo(3);
+    }
+
+    @Test
+    void blocks_opponent_immediate_win() {
+        assertThat(engine.computeBestMove(Board.parse("OO_X_____"), Movement.X)).isEqualTo(2);
+    }
+
+    @Test
+    void finds_the_fork_on_classic_board() {
+        // X in opposite corners with O in the center: O must take an edge, a corner loses to a fork
+        int move = engine.computeBestMove(Board.parse("X___O___X"), Movement.O, 42);
+
+        assertThat(move).isIn(1, 3, 5, 7);
+    }
+
+    @Test
+    void same_seed_and_budget_give_the_same_move() {
+        GameBoard board = GameBoard.empty(new Geometry(7, 4)).with(24, Movement.X);
+
+        assertThat(engine.computeBestMove(board, Movement.O, 7))
+                .isEqualTo(engine.computeBestMove(board, Movement.O, 7));
+    }
+
+    @Test
+    void answers_gomoku_positions_within_the_time_limit_in_parallel() {
+        MctsEngine parallel = new MctsEngine(Integer.MAX_VALUE, 200, 4);
+        GameBoard board = GameBoard.empty(new Geometry(15, 5))
+                .with(112, Movement.X)
+                .with(113, Movement.O);
+
+        int move = assertTimeout(Duration.ofSeconds(2), () -> parallel.computeBestMove(board, Movement.X));
+        parallel.shutdown();
+
+        assertThat(board.isEmpty(move)).isTrue();
+    }
+
+    @Test
+    void cancelled_search_still_returns_a_legal_move() {
+        GameBoard board = GameBoard.empty(new Geometry(15, 5)).with(112, Movement.X);
+
+        int move = engine.computeBestMove(board, Movement.O, SearchBudget.UNLIMITED.cancelledWhen(() -> true));
+
+        assertThat(board.isEmpty(move)).isTrue();
+    }
+
+    @Test
+    void returns_minus_one_on_finished_board() {
+        assertThat(engine.computeBestMove(Board.parse("XXXOO____"), Movement.O)).isEqualTo(-1);
+    }
+}
@@ -12,8 +12,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -27,6 +29,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 class MoveControllerIT {
 
+    private static final AtomicInteger REGISTRATIONS = new AtomicInteger();
+
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper mapper;
 
@@ -62,10 +66,86 @@ class MoveControllerIT {
                .andExpect(jsonPath("$.gameStatus", notNullValue()));
     }
 
+    @Test
+    void play_on_larger_board() throws Exception {
+        Long x = register("BigX");
+        Long o = register("BigO");
+
+        String res = mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x, 5, 4))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.boardSize").value(5))
+                .andExpect(jsonPath("$.winLength").value(4))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Long bigGameId = mapper.readTree(res).path("id").asLong();
+
+        mockMvc.perform(post("/games/{id}/join", bigGameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/games/{gameId}/moves", bigGameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(x).setMovementIndex(24))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.board", hasSize(25)))
+                .andExpect(jsonPath("$.board[24]").value("X"))
+                .andExpect(jsonPath("$.rows", hasSize(5)))
+                .andExpect(jsonPath("$.rows[4]").value("  |   |   |   | X"));
+
+        mockMvc.perform(post("/games/{gameId}/moves", bigGameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(o).setMovementIndex(25))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unchanged_game_answers_not_modified_for_its_etag() throws Exception {
+        String etag = mockMvc.perform(get("/games/{id}", gameId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/games/{id}", gameId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/games/{gameId}/moves", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(playerId).setMovementIndex(4))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/games/{id}", gameId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.board[4]").value("X"));
+    }
+
+    @Test
+    void long_poll_answers_once_the_version_moves_past_the_one_given() throws Exception {
+        MvcResult parked = mockMvc.perform(get("/games/{id}", gameId)
+                        .param("waitForVersion", "1")
+                        .param("timeout", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/games/{gameId}/moves", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(playerId).setMovementIndex(0))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(parked))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.board[0]").value("X"));
+    }
+
+    // player names are unique and every test registers its own players
     private Long register(String name) throws Exception {
         String res = mockMvc.perform(post("/players")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name + REGISTRATIONS.incrementAndGet()))))
                 .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
         return mapper.readTree(res).path("id").asLong();           // ← safer access
     }
@@ -2,6 +2,11 @@ package com.personio.tictactoe;
 
 import com.personio.tictactoe.dto.PlayMoveRequest;
 import com.personio.tictactoe.dto.PlayMoveResponse;
+import com.personio.tictactoe.events.GameFinished;
+import com.personio.tictactoe.events.GameUpdated;
+import com.personio.tictactoe.locking.GameLocks;
+import com.personio.tictactoe.exception.ConflictException;
+import com.personio.tictactoe.model.Board;
 import com.personio.tictactoe.model.Game;
 import com.personio.tictactoe.model.Move;
 import com.personio.tictactoe.model.Player;
@@ -10,17 +15,20 @@ import com.personio.tictactoe.model.enums.Movement;
 import com.personio.tictactoe.repository.GameRepository;
 import com.personio.tictactoe.repository.MoveRepository;
 import com.personio.tictactoe.service.MoveService;
+import com.personio.tictactoe.store.ActiveGameStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +36,9 @@ class MoveServiceTest {
 
     @Mock  private MoveRepository  moveRepository;
     @Mock  private GameRepository  gameRepository;
+    @Mock  private ActiveGameStore activeGameStore;
+    @Mock  private GameLocks       gameLocks;
+    @Mock  private ApplicationEventPublisher events;
     @InjectMocks private MoveService   moveService;
 
     private Player alice;
@@ -39,20 +50,19 @@ class MoveServiceTest {
 
         game = new Game()
                 .setId(100L)
+                .setVersion(0L)
                 .setInitiator(alice)
                 .setOpponent(new Player().setId(2L).setName("Bob"))
-                .setGameStatus(GameStatus.PLAYER_X_TURN);
+                .setGameStatus(GameStatus.PLAYER_X_TURN)
+                .setBoard(Board.EMPTY);
     }
 
     @Test
     void playMove_places_token_and_returns_board() {
         /* ── Arrange ─────────────────────────────────────────────────────────── */
-        when(gameRepository.findByIdForUpdate(100L))
-                .thenReturn(Optional.of(game));
+        lockedGame(game);
 
         int cell = 0;
-        when(moveRepository.existsByGameIdAndMovementIndex(100L, cell))
-                .thenReturn(false);
 
         // the move the service should store
         Move persisted = new Move()
@@ -63,7 +73,6 @@ class MoveServiceTest {
                 .setMovement(Movement.X);
 
         when(moveRepository.saveAndFlush(any(Move.class))).thenReturn(persisted);
-        when(moveRepository.findByGameId(100L)).thenReturn(List.of(persisted));
 
         PlayMoveRequest request = new PlayMoveRequest()
                 .setPlayerId(alice.getId())
@@ -80,5 +89,55 @@ class MoveServiceTest {
         verify(moveRepository).saveAndFlush(saved.capture());
         assertThat(saved.getValue().getMovementIndex()).isEqualTo(cell);
         assertThat(saved.getValue().getMovement()).isEqualTo(Movement.X);
+
+        assertThat(game.getBoard()).isEqualTo(Board.EMPTY.with(cell, Movement.X));
+        verify(moveRepository, never()).findByGameId(any());
+        verify(events).publishEvent(any(GameUpdated.class));
+    }
+
+    @Test
+    void playMove_rejects_taken_cell_from_the_packed_board() {
+        game.setBoard(Board.parse("X________")).setGameStatus(GameStatus.PLAYER_O_TURN);
+        lockedGame(game);
+
+        PlayMoveRequest request = new PlayMoveRequest()
+                .setPlayerId(2L)
+                .setMovementIndex(0);
+
+        assertThatThrownBy(() -> moveService.playMove(100L, request)).isInstanceOf(ConflictException.class);
+        verifyNoInteractions(moveRepository);
+    }
+
+    @Test
+    void playMove_publishes_the_result_of_a_winning_move() {
+        game.setBoard(Board.parse("XX_OO____"));
+        lockedGame(game);
+
+        PlayMoveResponse response = moveService.playMove(100L, new PlayMoveRequest()
+                .setPlayerId(alice.getId())
+                .setMovementIndex(2));
+
+        assertThat(response.getGameStatus()).isEqualTo(GameStatus.X_WON);
+        verify(events).publishEvent(new GameFinished(100L, 1L, "Alice", 2L, "Bob", GameStatus.X_WON));
+    }
+
+    @Test
+    void playVersionedMove_rejects_a_move_against_a_stale_version() {
+        game.setVersion(4L);
+        lockedGame(game);
+
+        PlayMoveRequest request = new PlayMoveRequest()
+                .setPlayerId(alice.getId())
+                .setMovementIndex(0);
+
+        assertThatThrownBy(() -> moveService.playVersionedMove(100L, request, 3L)).isInstanceOf(ConflictException.class);
+        verifyNoInteractions(moveRepository);
+
+        assertThat(moveService.playVersionedMove(100L, request, 4L).state().getBoard().get(0)).isEqualTo("X");
+    }
+
+    private void lockedGame(Game locked) {
+        when(gameLocks.withGame(eq(locked.getId()), any()))
+                .thenAnswer(inv -> inv.<Function<Game, ?>>getArgument(1).apply(locked));
     }
-}
\ No newline at end of file
+}
@@ -36,5 +36,35 @@ class PlayerControllerIT {
         mockMvc.perform(get("/players"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[*].name", hasItem("Eve")));
+
+        mockMvc.perform(post("/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsBytes(body)))
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    void players_are_listed_in_keyset_pages() throws Exception {
+        for (String name : new String[]{"PageA", "PageB", "PageC"})
+            mockMvc.perform(post("/players")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                    .andExpect(status().isCreated());
+
+        String link = mockMvc.perform(get("/players").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andReturn().getResponse().getHeader("Link");
+
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        long after = Long.parseLong(next.replaceAll(".*after=(\\d+).*", "$1"));
+
+        mockMvc.perform(get("/players").param("after", Long.toString(after)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", greaterThan((int) after)));
+
+        mockMvc.perform(get("/players").param("limit", "0"))
+                .andExpect(status().isBadRequest());
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.personio.tictactoe;
 
+import com.personio.tictactoe.dto.PlayerResponse;
+import com.personio.tictactoe.exception.ConflictException;
 import com.personio.tictactoe.model.Player;
 import com.personio.tictactoe.repository.PlayerRepository;
 import com.personio.tictactoe.service.PlayerService;
@@ -8,10 +10,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +43,7 @@ class PlayerServiceTest {
 
     @Test
     void registerPlayer_persists_and_returns_entity() {
-        when(playerRepository.save(any(Player.class))).thenReturn(persisted);
+        when(playerRepository.saveAndFlush(any(Player.class))).thenReturn(persisted);
 
         Player result = playerService.registerPlayer("Alice");
 
@@ -46,17 +51,26 @@ class PlayerServiceTest {
         assertThat(result.getName()).isEqualTo("Alice");
 
         ArgumentCaptor<Player> saved = ArgumentCaptor.forClass(Player.class);
-        verify(playerRepository).save(saved.capture());
+        verify(playerRepository).saveAndFlush(saved.capture());
         assertThat(saved.getValue().getName()).isEqualTo("Alice");
     }
 
     @Test
-    void getPlayers_returns_all_records() {
-        when(playerRepository.findAll()).thenReturn(List.of(persisted));
+    void registerPlayer_rejects_a_taken_name() {
+        when(playerRepository.saveAndFlush(any(Player.class))).thenThrow(new DataIntegrityViolationException("uk_player_name"));
 
-        List<Player> players = playerService.getPlayers();
+        assertThatThrownBy(() -> playerService.registerPlayer("Alice")).isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void getPlayers_returns_one_keyset_page() {
+        when(playerRepository.findPageAfter(0L, Limit.of(20)))
+                .thenReturn(List.of(new PlayerResponse(1L, "Alice", 0, 0, 0, 0)));
+
+        List<PlayerResponse> players = playerService.getPlayers(0L, 20);
 
         assertThat(players).hasSize(1).first()
-                .satisfies(p -> assertThat(p.getName()).isEqualTo("Alice"));
+                .satisfies(p -> assertThat(p.name()).isEqualTo("Alice"));
+        verify(playerRepository, never()).findAll();
     }
 }
\ No newline at end of file
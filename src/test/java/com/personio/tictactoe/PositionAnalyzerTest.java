@@ -0,0 +1,66 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.ai.PositionAnalysis;
+import com.personio.tictactoe.ai.PositionAnalyzer;
+import com.personio.tictactoe.ai.TicTacToeAiEngine;
+import com.personio.tictactoe.model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionAnalyzerTest {
+
+    private final TicTacToeAiEngine engine = new TicTacToeAiEngine(TicTacToeAiEngine.Mode.TABLE, 1024);
+    private final PositionAnalyzer analyzer = new PositionAnalyzer(engine);
+
+    @Test
+    void scores_every_empty_cell_for_the_side_to_move() {
+        // X to move wins at 2; anything but 2 or blocking at 5 loses to O completing the middle row
+        PositionAnalysis analysis = analyzer.analyze(Board.parse("XX_OO____"));
+
+        assertThat(analysis.bestMove()).isEqualTo(2);
+        assertThat(analysis.value()).isEqualTo(1);
+        assertThat(analysis.scores()).containsExactly(null, null, 1, null, null, 0, -1, -1, -1);
+    }
+
+    @Test
+    void empty_board_is_a_draw_from_every_cell() {
+        PositionAnalysis analysis = analyzer.analyze(Board.EMPTY);
+
+        assertThat(analysis.value()).isZero();
+        assertThat(analysis.bestMove()).isZero();
+        assertThat(analysis.scores()).containsOnly(0);
+    }
+
+    @Test
+    void finished_board_has_no_moves() {
+        PositionAnalysis analysis = analyzer.analyze(Board.parse("XXXOO____"));
+
+        assertThat(analysis.bestMove()).isEqualTo(-1);
+        assertThat(analysis.value()).isEqualTo(-1);
+        assertThat(analysis.scores()).containsOnlyNulls();
+    }
+
+    @Test
+    void oriented_canonical_analysis_matches_analyzing_the_board_itself() {
+        for (String cells : new String[]{"X________", "_X__O____", "XO__X___O", "O_X_X____", "XX_OO____"}) {
+            Board board = Board.parse(cells);
+            Board canonical = PositionAnalyzer.canonical(board);
+
+            assertThat(PositionAnalyzer.canonicalIndex(canonical)).isEqualTo(PositionAnalyzer.canonicalIndex(board));
+            assertThat(PositionAnalyzer.orient(analyzer.analyze(canonical), board))
+                    .usingRecursiveComparison()
+                    .isEqualTo(analyzer.analyze(board));
+        }
+    }
+
+    @Test
+    void search_mode_agrees_with_the_table() {
+        PositionAnalyzer searching = new PositionAnalyzer(new TicTacToeAiEngine(TicTacToeAiEngine.Mode.SEARCH, 1024));
+
+        for (String cells : new String[]{"_________", "X___O____", "XO__X____", "X___O___X"})
+            assertThat(searching.analyze(Board.parse(cells)))
+                    .usingRecursiveComparison()
+                    .isEqualTo(analyzer.analyze(Board.parse(cells)));
+    }
+}
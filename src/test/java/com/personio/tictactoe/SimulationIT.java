@@ -0,0 +1,93 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.SimulationRequest;
+import com.personio.tictactoe.model.enums.EngineType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: seeded MCTS-vs-minimax simulations stream one line per game, repeat exactly for the same
+ * seed, and persisted runs store every game with its moves.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SimulationIT {
+
+    private static final String SIMULATED_DRAWS =
+            "select count(*) from games where opponent_id is null and ai_engine = 'MINIMAX' and game_status = 'DRAW'";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void same_seed_streams_the_same_games() throws Exception {
+        SimulationRequest request = new SimulationRequest(20L, null, null, EngineType.MCTS, EngineType.MINIMAX,
+                2, 200L, 42L, false);
+
+        Map<Long, String> first = simulate(request);
+        Map<Long, String> second = simulate(request);
+
+        assertThat(first.keySet()).containsExactlyElementsOf(LongStream.range(0, 20).boxed().toList());
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void persisted_games_are_stored_with_their_moves() throws Exception {
+        Integer gamesBefore = jdbc.queryForObject(SIMULATED_DRAWS, Integer.class);
+        Integer movesBefore = jdbc.queryForObject("select count(*) from moves", Integer.class);
+
+        Map<Long, String> games = simulate(new SimulationRequest(5L, null, null, null, null, 0, null, 7L, true));
+
+        // perfect play on both sides always draws, filling all nine cells
+        assertThat(games.values()).allMatch(line -> line.contains("\"DRAW\""));
+        assertThat(jdbc.queryForObject(SIMULATED_DRAWS, Integer.class))
+                .isEqualTo(gamesBefore + 5);
+        assertThat(jdbc.queryForObject("select count(*) from moves", Integer.class)).isEqualTo(movesBefore + 45);
+    }
+
+    @Test
+    void rejects_an_invalid_geometry() throws Exception {
+        mockMvc.perform(post("/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new SimulationRequest(1L, 3, 4, null, null, null, null, null, false))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Map<Long, String> simulate(SimulationRequest request) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/simulations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.getAsyncResult(30_000);
+        // streamed responses write their headers with the first chunk
+        assertThat(pending.getResponse().getHeader("X-Simulation-Seed")).isEqualTo(String.valueOf(request.seed()));
+
+        Map<Long, String> games = new TreeMap<>();
+        for (String line : pending.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode game = mapper.readTree(line);
+            games.put(game.get("game").asLong(), line);
+        }
+        return games;
+    }
+}
@@ -0,0 +1,162 @@
+package com.personio.tictactoe;
+
+import com.personio.tictactoe.ai.PerfectPlayTable;
+import com.personio.tictactoe.ai.SearchBudget;
+import com.personio.tictactoe.ai.TicTacToeAiEngine;
+import com.personio.tictactoe.ai.TranspositionTable;
+import com.personio.tictactoe.model.Board;
+import com.personio.tictactoe.model.enums.Movement;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class TicTacToeAiEngineTest {
+
+    private static final int REACHABLE_POSITIONS = 5478;
+
+    private final TicTacToeAiEngine tableEngine = new TicTacToeAiEngine(TicTacToeAiEngine.Mode.TABLE, 1 << 14);
+    private final TicTacToeAiEngine searchEngine = new TicTacToeAiEngine(TicTacToeAiEngine.Mode.SEARCH, 1 << 14);
+
+    @Test
+    void table_is_built_quickly_at_startup() {
+        PerfectPlayTable table = assertTimeout(Duration.ofSeconds(1), PerfectPlayTable::build);
+
+        assertThat(table.positions()).isEqualTo(REACHABLE_POSITIONS);
+        assertThat(Duration.ofNanos(table.buildNanos())).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void table_and_alpha_beta_match_plain_minimax_on_every_reachable_position() {
+        PerfectPlayTable table = PerfectPlayTable.build();
+        int checked = 0;
+
+        for (int index = 0; index < 19_683; index++) {
+            if (!table.contains(index)) continue;
+
+            String board = decode(index);
+            char toMove = count(board, 'X') == count(board, 'O') ? 'X' : 'O';
+
+            int expected = referenceBestMove(board.toCharArray(), toMove);
+
+            assertThat(tableEngine.computeBestMove(board, toMove))
+                    .as("table move for %s to play on %s", toMove, board)
+                    .isEqualTo(expected);
+            assertThat(searchEngine.computeBestMove(board, toMove))
+                    .as("alpha-beta move for %s to play on %s", toMove, board)
+                    .isEqualTo(expected);
+            checked++;
+        }
+
+        assertThat(checked).isEqualTo(REACHABLE_POSITIONS);
+    }
+
+    @Test
+    void falls_back_to_search_when_symbol_is_not_side_to_move() {
+        String board = "X___O____";
+
+        assertThat(tableEngine.computeBestMove(board, 'O'))
+                .isEqualTo(searchEngine.computeBestMove(board, 'O'));
+    }
+
+    @Test
+    void finished_positions_have_no_move() {
+        assertThat(tableEngine.computeBestMove("XXXOO____", 'O')).isEqualTo(-1);
+        assertThat(tableEngine.computeBestMove("XOXXOOOXX", 'X')).isEqualTo(-1);
+    }
+
+    @Test
+    void search_reuses_symmetric_transpositions() {
+        TicTacToeAiEngine engine = new TicTacToeAiEngine(TicTacToeAiEngine.Mode.SEARCH, 1 << 14);
+
+        engine.computeBestMove("X________", 'O');
+        TranspositionTable.Stats first = engine.searchStats();
+
+        // same position rotated by 90 degrees: served from the table
+        engine.computeBestMove("__X______", 'O');
+        TranspositionTable.Stats second = engine.searchStats();
+
+        assertThat(first.nodes()).isPositive();
+        assertThat(second.nodes() - first.nodes()).isLessThan(first.nodes());
+        assertThat(second.hits()).isGreaterThan(first.hits());
+        assertThat(second.hitRate()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void search_stopped_by_its_budget_keeps_a_legal_move() {
+        TicTacToeAiEngine engine = new TicTacToeAiEngine(TicTacToeAiEngine.Mode.SEARCH, 64);
+        Board board = Board.parse("X________");
+
+        int move = engine.computeBestMove(board, Movement.O, SearchBudget.nodes(1));
+
+        assertThat(board.isEmpty(move)).isTrue();
+    }
+
+    @Test
+    void transposition_table_is_bounded() {
+        assertThat(new TranspositionTable(1000).capacity()).isEqualTo(1024);
+        assertThat(new TicTacToeAiEngine(TicTacToeAiEngine.Mode.SEARCH, 64).computeBestMove("_________", 'X'))
+                .isEqualTo(referenceBestMove("_________".toCharArray(), 'X'));
+    }
+
+    /** The original exhaustive minimax, kept as the behavioural reference. */
+    private static int referenceBestMove(char[] cells, char max) {
+        char min = max == 'X' ? 'O' : 'X';
+        if (isWinner(cells, max) || isWinner(cells, min) || isFull(cells)) return -1;
+
+        int bestScore = Integer.MIN_VALUE;
+        int bestMove = -1;
+        for (int i = 0; i < 9; i++) {
+            if (cells[i] != '_') continue;
+            cells[i] = max;
+            int score = minimax(cells, false, max, min);
+            cells[i] = '_';
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = i;
+            }
+        }
+        return bestMove;
+    }
+
+    private static int minimax(char[] cells, boolean isAiTurn, char max, char min) {
+        if (isWinner(cells, max)) return 1;
+        if (isWinner(cells, min)) return -1;
+        if (isFull(cells)) return 0;
+
+        int best = isAiTurn ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int i = 0; i < 9; i++) {
+            if (cells[i] != '_') continue;
+            cells[i] = isAiTurn ? max : min;
+            int score = minimax(cells, !isAiTurn, max, min);
+            cells[i] = '_';
+            best = isAiTurn ? Math.max(best, score) : Math.min(best, score);
+        }
+        return best;
+    }
+
+    private static boolean isFull(char[] cells) {
+        for (char c : cells) if (c == '_') return false;
+        return true;
+    }
+
+    private static boolean isWinner(char[] c, char p) {
+        int[][] lines = {{0, 1, 2}, {3, 4, 5}, {6, 7, 8}, {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, {0, 4, 8}, {2, 4, 6}};
+        for (int[] line : lines)
+            if (c[line[0]] == p && c[line[1]] == p && c[line[2]] == p) return true;
+        return false;
+    }
+
+    private static String decode(int index) {
+        StringBuilder sb = new StringBuilder(9);
+        for (int i = 0; i < 9; i++, index /= 3)
+            sb.append("_XO".charAt(index % 3));
+        return sb.toString();
+    }
+
+    private static long count(String board, char symbol) {
+        return board.chars().filter(c -> c == symbol).count();
+    }
+}
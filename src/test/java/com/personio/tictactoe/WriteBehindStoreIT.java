@@ -0,0 +1,149 @@
+package com.personio.tictactoe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personio.tictactoe.dto.GameCreationRequest;
+import com.personio.tictactoe.dto.PlayMoveRequest;
+import com.personio.tictactoe.dto.PlayerRegistrationRequest;
+import com.personio.tictactoe.model.Game;
+import com.personio.tictactoe.model.enums.GameStatus;
+import com.personio.tictactoe.repository.GameRepository;
+import com.personio.tictactoe.repository.MoveRepository;
+import com.personio.tictactoe.store.ActiveGameStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Scenario: with the in-memory store, X wins a game; moves are answered from memory and reach the
+ * database write-behind. Moves of one game are then rejected by the database: that game is given up and
+ * continues through the database, while another game's moves are still written.
+ */
+@SpringBootTest(properties = "tictactoe.store.mode=MEMORY")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WriteBehindStoreIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper mapper;
+    @Autowired private ActiveGameStore store;
+    @Autowired private GameRepository gameRepository;
+    @Autowired private MoveRepository moveRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void moves_are_served_from_memory_and_persisted_in_batches() throws Exception {
+        Long x = register("StoreX");
+        Long o = register("StoreO");
+        Long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+
+        move(gameId, x, 0).andExpect(status().isOk());
+        assertThat(store.find(gameId)).isPresent();
+
+        move(gameId, o, 0).andExpect(status().isConflict());
+        move(gameId, o, 3).andExpect(status().isOk());
+        move(gameId, x, 1).andExpect(status().isOk());
+        move(gameId, o, 4).andExpect(status().isOk());
+        move(gameId, x, 2)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameStatus").value("X_WON"))
+                .andExpect(jsonPath("$.winner").value("StoreX"));
+
+        mockMvc.perform(get("/games/{id}", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameStatus").value("X_WON"));
+
+        awaitFlushed(gameId);
+
+        Game stored = gameRepository.findById(gameId).orElseThrow();
+        assertThat(stored.getGameStatus()).isEqualTo(GameStatus.X_WON);
+        assertThat(stored.getFinishedAt()).isNotNull();
+        assertThat(stored.getBoard().encode()).isEqualTo("XXXOO____");
+        assertThat(moveRepository.findByGameId(gameId)).hasSize(5);
+
+        move(gameId, o, 5).andExpect(status().isConflict());
+    }
+
+    @Test
+    void game_whose_moves_cannot_be_written_falls_back_to_the_database_without_holding_up_others() throws Exception {
+        Long badX = register("BadX");
+        Long badO = register("BadO");
+        Long goodX = register("GoodX");
+        Long goodO = register("GoodO");
+        Long bad = startGame(badX, badO);
+        Long good = startGame(goodX, goodO);
+
+        jdbc.execute("alter table moves add constraint ck_reject_game check (game_id <> " + bad + ")");
+        try {
+            move(bad, badX, 0).andExpect(status().isOk());
+            move(good, goodX, 0).andExpect(status().isOk());
+
+            awaitFlushed(bad);
+            assertThat(moveRepository.findByGameId(bad)).isEmpty();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (moveRepository.findByGameId(good).isEmpty() && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+            assertThat(moveRepository.findByGameId(good)).hasSize(1);
+            assertThat(store.find(good)).isPresent();
+        } finally {
+            jdbc.execute("alter table moves drop constraint ck_reject_game");
+        }
+
+        // the lost move is gone; the game goes on from the database and stays out of memory
+        move(bad, badO, 4).andExpect(status().isForbidden());
+        move(bad, badX, 4).andExpect(status().isOk());
+        assertThat(store.find(bad)).isEmpty();
+        assertThat(gameRepository.findById(bad).orElseThrow().getBoard().encode()).isEqualTo("____X____");
+    }
+
+    private Long startGame(Long x, Long o) throws Exception {
+        Long gameId = mapper.readTree(mockMvc.perform(post("/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new GameCreationRequest(x))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asLong();
+        mockMvc.perform(post("/games/{id}/join", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\":" + o + "}"))
+                .andExpect(status().isOk());
+        return gameId;
+    }
+
+    private void awaitFlushed(Long gameId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((store.pendingWrites() > 0 || store.find(gameId).isPresent()) && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertThat(store.find(gameId)).isEmpty();
+    }
+
+    private ResultActions move(Long gameId, Long playerId, int cell) throws Exception {
+        return mockMvc.perform(post("/games/{gameId}/moves", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsBytes(new PlayMoveRequest().setPlayerId(playerId).setMovementIndex(cell))));
+    }
+
+    private Long register(String name) throws Exception {
+        String res = mockMvc.perform(post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsBytes(new PlayerRegistrationRequest(name))))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(res).get("id").asLong();
+    }
+}